@@ -0,0 +1,59 @@
+package com.admin.common.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个请求的令牌校验开销：
+ * legacy 为改造前的做法（每次重建密钥，校验与取用户名各解析一次），
+ * singleParse 为共享解析器只校验一次，cached 为命中最近令牌缓存。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-key-that-is-long-enough-for-hs512-signatures-0123456789";
+
+    private String token;
+    private JwtTokenVerifier uncachedVerifier;
+    private JwtTokenVerifier cachedVerifier;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 900000, 604800000);
+        token = jwtUtils.generateTokenFromUsername("admin");
+        uncachedVerifier = new JwtTokenVerifier(jwtUtils, false, 0);
+        cachedVerifier = new JwtTokenVerifier(jwtUtils, true, 10000);
+        cachedVerifier.verify(token);
+    }
+
+    @Benchmark
+    public String legacy() {
+        SecretKey validateKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Jwts.parser().verifyWith(validateKey).build().parseSignedClaims(token);
+        SecretKey subjectKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(subjectKey).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return uncachedVerifier.verify(token).orElseThrow().username();
+    }
+
+    @Benchmark
+    public String cached() {
+        return cachedVerifier.verify(token).orElseThrow().username();
+    }
+}
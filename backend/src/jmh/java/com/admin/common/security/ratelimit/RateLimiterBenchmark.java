@@ -0,0 +1,57 @@
+package com.admin.common.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 集群限流单次请求开销。Redis 以固定往返延迟的桩实现代替，且总是批准，
+ * 测得的是“本地租约命中 + 摊销后的 Redis 往返”，目标是平均低于 100µs。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+    // 模拟的 Redis 往返延迟（微秒）
+    @Param({"300"})
+    public long redisRoundTripMicros;
+
+    @Param({"1", "10", "50"})
+    public int leaseSize;
+
+    private RateLimiterRegistry registry;
+    private RateLimitPolicy policy;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultPolicy().setPermitsPerSecond(1_000_000);
+        properties.getDistributed().setLeaseSize(leaseSize);
+        properties.getDistributed().setLeaseTtl(Duration.ofSeconds(1));
+
+        TokenBucketBackend stubBackend = (key, permitsPerSecond, capacity, requested) -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(redisRoundTripMicros));
+            return requested;
+        };
+        registry = new RateLimiterRegistry(properties, new SimpleMeterRegistry(), stubBackend);
+        policy = registry.resolvePolicy("/api/products");
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return registry.tryAcquire(policy, "user:admin");
+    }
+}
@@ -0,0 +1,7 @@
+package com.admin.common.cache;
+
+/**
+ * 跨节点本地缓存失效消息，key 为 null 表示清空整个缓存
+ */
+public record CacheInvalidationMessage(String sourceNodeId, String cacheName, String key) {
+}
@@ -0,0 +1,93 @@
+package com.admin.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 两级缓存管理器：为每个缓存名创建 {@link TwoLevelCache}，L2 委托给已有的 Redis 缓存管理器。
+ * 开启事务感知后，事务内的 put/evict 会推迟到提交之后执行，避免并发读把旧值重新写回缓存。
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final ObjectMapper objectMapper;
+    private final long localMaximumSize;
+    private final Duration localExpireAfterWrite;
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                CacheInvalidationPublisher invalidationPublisher,
+                                ObjectMapper objectMapper,
+                                long localMaximumSize,
+                                Duration localExpireAfterWrite) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.objectMapper = objectMapper;
+        this.localMaximumSize = localMaximumSize;
+        this.localExpireAfterWrite = localExpireAfterWrite;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return new TwoLevelCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaximumSize)
+                        .expireAfterWrite(localExpireAfterWrite)
+                        .build(),
+                remoteCache,
+                invalidationPublisher);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), CacheInvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed cache invalidation message", e);
+            return;
+        }
+
+        if (invalidationPublisher.getNodeId().equals(invalidation.sourceNodeId())) {
+            return;
+        }
+
+        // 只处理本节点已创建过的缓存，避免为未使用的缓存名创建实例
+        if (!getCacheNames().contains(invalidation.cacheName())) {
+            return;
+        }
+        Cache cache = lookupCache(invalidation.cacheName());
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.invalidateLocal(invalidation.key());
+        }
+    }
+}
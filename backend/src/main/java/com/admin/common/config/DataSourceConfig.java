@@ -0,0 +1,162 @@
+package com.admin.common.config;
+
+import com.admin.common.datasource.ConcurrencyLimitedDataSource;
+import com.admin.common.datasource.ConnectionPool;
+import com.admin.common.datasource.ConnectionPoolInterceptor;
+import com.admin.common.datasource.ConnectionPoolProperties;
+import com.admin.common.datasource.ConnectionPoolRoutingDataSource;
+import com.admin.common.datasource.DataSourceRoutingProperties;
+import com.admin.common.datasource.ReadWriteRoutingDataSource;
+import com.admin.common.datasource.ReadYourWritesTracker;
+import com.admin.common.datasource.ReplicaHealthChecker;
+import com.admin.common.datasource.ReplicaNode;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 数据源：主库按用途拆分为多个 Hikari 连接池（app.datasource.pools），通过 @ConnectionPool 选择；
+ * app.datasource.routing.enabled=true 时只读事务（@Transactional(readOnly = true)）读副本。
+ * 各连接池的 Hikari 指标（活跃、等待、获取耗时）注册到 Micrometer。
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ConnectionPoolRoutingDataSource connectionPoolRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                         ConnectionPoolProperties poolProperties,
+                                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        poolProperties.getProfiles().forEach((name, profile) -> {
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(profile.getMaximumPoolSize());
+            dataSource.setMinimumIdle(profile.getMinimumIdle() != null
+                    ? profile.getMinimumIdle() : profile.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(profile.getConnectionTimeout().toMillis());
+            dataSource.setIdleTimeout(profile.getIdleTimeout().toMillis());
+            dataSource.setMaxLifetime(profile.getMaxLifetime().toMillis());
+            dataSource.setLeakDetectionThreshold(profile.getLeakDetectionThreshold().toMillis());
+            meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+            if (profile.getMaxWaiting() == null) {
+                pools.put(name, dataSource);
+                return;
+            }
+            ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(dataSource, name,
+                    profile.getMaximumPoolSize() + profile.getMaxWaiting());
+            meterRegistry.ifAvailable(registry -> {
+                Gauge.builder("db.pool.in_flight", limited, ConcurrencyLimitedDataSource::inFlight)
+                        .description("Connections in use or waiting behind the pool limiter")
+                        .tag("pool", name)
+                        .register(registry);
+                FunctionCounter.builder("db.pool.rejected", limited, ConcurrencyLimitedDataSource::rejectedCount)
+                        .description("Connection requests rejected because the pool was saturated")
+                        .tag("pool", name)
+                        .register(registry);
+            });
+            pools.put(name, limited);
+        });
+        if (pools.isEmpty()) {
+            // 未配置时退回单个默认参数的连接池
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            dataSource.setPoolName(poolProperties.getDefaultPool());
+            meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+            pools.put(poolProperties.getDefaultPool(), dataSource);
+        }
+        return new ConnectionPoolRoutingDataSource(pools, poolProperties.getDefaultPool(),
+                poolProperties.getSlowAcquireThreshold());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            ConnectionPoolRoutingDataSource connectionPoolRoutingDataSource,
+            DataSourceProperties dataSourceProperties,
+            DataSourceRoutingProperties routingProperties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(replica.getName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(StringUtils.hasText(replica.getUsername())
+                    ? replica.getUsername() : dataSourceProperties.determineUsername());
+            dataSource.setPassword(StringUtils.hasText(replica.getPassword())
+                    ? replica.getPassword() : dataSourceProperties.determinePassword());
+            dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // 副本启动时不可用不影响应用启动，由健康检查决定是否启用
+            dataSource.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+            replicas.add(new ReplicaNode(replica.getName(), dataSource));
+        }
+
+        meterRegistry.ifAvailable(registry -> replicas.forEach(replica -> {
+            Gauge.builder("db.replica.lag", replica, ReplicaNode::getLagMillis)
+                    .tag("replica", replica.getName())
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("db.replica.healthy", replica, node -> node.isHealthy() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(registry);
+        }));
+
+        return new ReadWriteRoutingDataSource(connectionPoolRoutingDataSource, replicas,
+                new ReadYourWritesTracker(routingProperties.getReadYourWritesWindow()));
+    }
+
+    /**
+     * 延迟到第一条语句执行时才取真实连接，此时事务的只读标记、事务名和 @ConnectionPool 都已就绪
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ConnectionPoolRoutingDataSource connectionPoolRoutingDataSource,
+                                 ObjectProvider<ReadWriteRoutingDataSource> readWriteRoutingDataSource) {
+        DataSource target = Objects.requireNonNullElse(readWriteRoutingDataSource.getIfAvailable(),
+                connectionPoolRoutingDataSource);
+        return new LazyConnectionDataSourceProxy(target);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+    public ReplicaHealthChecker replicaHealthChecker(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                                     DataSourceRoutingProperties routingProperties) {
+        return new ReplicaHealthChecker(readWriteRoutingDataSource.getReplicas(),
+                routingProperties.getMaxReplicationLag());
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor connectionPoolAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ConnectionPool.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ConnectionPool.class));
+        return new DefaultPointcutAdvisor(pointcut, new ConnectionPoolInterceptor());
+    }
+}
@@ -0,0 +1,28 @@
+package com.admin.common.config;
+
+import com.admin.common.id.IdGenerator;
+import com.admin.common.id.RedisNodeIdAllocator;
+import com.admin.common.id.SnowflakeIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 订单号、运单号等业务编号生成器。节点号优先取配置 app.id.node-id，
+ * 未配置（-1）时从 Redis 租用，保证集群内各节点不同。
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${app.id.node-id:-1}") long configuredNodeId,
+                                   RedisNodeIdAllocator nodeIdAllocator) {
+        long nodeId = configuredNodeId >= 0 ? configuredNodeId : nodeIdAllocator.allocate();
+        logger.info("ID generator using node id {}", nodeId);
+        return new SnowflakeIdGenerator(nodeId);
+    }
+}
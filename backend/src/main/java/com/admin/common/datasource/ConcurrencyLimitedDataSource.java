@@ -0,0 +1,88 @@
+package com.admin.common.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 连接池前的并发闸门：借出的连接加上排队等待的请求超过上限时立即拒绝，而不是让请求堆在连接池里等到超时。
+ * <p>
+ * 虚拟线程下请求线程几乎没有上限，数据库变慢时会有成千上万个线程排队等连接，
+ * 拒绝多余的请求可以让已经排队的请求按时拿到连接，同时不再放大数据库压力。
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final String poolName;
+    private final int limit;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource, String poolName, int limit) {
+        super(targetDataSource);
+        this.poolName = poolName;
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+    }
+
+    /**
+     * 借出中与排队中的连接请求数
+     */
+    public int inFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!permits.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new SQLTransientConnectionException(
+                    "Connection pool " + poolName + " saturated: " + limit + " connections in use or waiting");
+        }
+        try {
+            return releaseOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection releaseOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            try {
+                                connection.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                    }
+                });
+    }
+}
@@ -0,0 +1,24 @@
+package com.admin.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定方法内数据库访问使用的连接池（app.datasource.pools.profiles 中的名称），
+ * 未标注时使用默认池。标在类上对所有公共方法生效，方法上的标注优先。
+ * <p>
+ * 连接在事务内第一条语句执行时才获取，外层已持有连接的事务不受内层标注影响。
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConnectionPool {
+
+    String REPORTING = "reporting";
+    String BACKGROUND = "background";
+
+    String value();
+}
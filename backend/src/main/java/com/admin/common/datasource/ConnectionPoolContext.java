@@ -0,0 +1,57 @@
+package com.admin.common.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程选定的连接池，由 ConnectionPoolInterceptor 在 @ConnectionPool 方法内设置
+ */
+public final class ConnectionPoolContext {
+
+    /**
+     * @param caller 选定连接池的方法，用于慢获取日志
+     */
+    public record Scope(String pool, String caller) {
+    }
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ConnectionPoolContext() {
+    }
+
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return 之前的作用域，调用方负责用 {@link #restore(Scope)} 恢复
+     */
+    public static Scope enter(String pool, String caller) {
+        Scope previous = CURRENT.get();
+        CURRENT.set(new Scope(pool, caller));
+        return previous;
+    }
+
+    public static void restore(Scope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * 把当前线程的连接池选择带到在其他线程执行的任务中
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Scope scope = CURRENT.get();
+        return () -> {
+            Scope previous = CURRENT.get();
+            restore(scope);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.admin.common.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * 在 @ConnectionPool 方法执行期间设置当前线程的连接池
+ */
+public class ConnectionPoolInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis()) : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        ConnectionPool connectionPool = AnnotatedElementUtils.findMergedAnnotation(method, ConnectionPool.class);
+        if (connectionPool == null) {
+            connectionPool = AnnotatedElementUtils.findMergedAnnotation(targetClass, ConnectionPool.class);
+        }
+        if (connectionPool == null) {
+            return invocation.proceed();
+        }
+
+        ConnectionPoolContext.Scope previous = ConnectionPoolContext.enter(connectionPool.value(),
+                targetClass.getSimpleName() + "." + method.getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            ConnectionPoolContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.admin.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 主库连接池配置（app.datasource.pools）：按用途拆分的多个 Hikari 连接池，
+ * 连接地址与账号取自 spring.datasource
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource.pools")
+public class ConnectionPoolProperties {
+
+    // 未标注 @ConnectionPool 的访问使用的连接池
+    private String defaultPool = "oltp";
+
+    // 获取连接超过该时间时记录日志
+    private Duration slowAcquireThreshold = Duration.ofMillis(200);
+
+    private Map<String, Profile> profiles = new LinkedHashMap<>();
+
+    @Data
+    public static class Profile {
+        private int maximumPoolSize = 10;
+        // 为空时与 maximumPoolSize 相同（固定大小）
+        private Integer minimumIdle;
+        // 等待空闲连接的最长时间，超时抛出异常
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Duration maxLifetime = Duration.ofMinutes(30);
+        // 连接借出超过该时间未归还时打印借出位置的堆栈，0 表示关闭
+        private Duration leakDetectionThreshold = Duration.ZERO;
+        // 连接全部借出后允许排队等待的请求数，超过后立即失败；为空表示不限制
+        private Integer maxWaiting;
+    }
+}
@@ -0,0 +1,100 @@
+package com.admin.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 按 @ConnectionPool 把连接请求分发到不同的主库连接池，避免仪表盘扫描、后台任务占满下单写入的连接。
+ * <p>
+ * 与读写分离相同，需要包在 LazyConnectionDataSourceProxy 中，在第一条语句执行时才选择连接池。
+ * 获取连接较慢时记录发起访问的事务与业务方法。
+ */
+public class ConnectionPoolRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolRoutingDataSource.class);
+
+    private static final String APPLICATION_PACKAGE = "com.admin.";
+    private static final String DATASOURCE_PACKAGE = ConnectionPoolRoutingDataSource.class.getPackageName();
+
+    private final Map<String, DataSource> pools;
+    private final String defaultPool;
+    private final long slowAcquireNanos;
+
+    public ConnectionPoolRoutingDataSource(Map<String, DataSource> pools, String defaultPool,
+                                           Duration slowAcquireThreshold) {
+        if (!pools.containsKey(defaultPool)) {
+            throw new IllegalArgumentException("Default connection pool not configured: " + defaultPool);
+        }
+        this.pools = Map.copyOf(pools);
+        this.defaultPool = defaultPool;
+        this.slowAcquireNanos = slowAcquireThreshold.toNanos();
+    }
+
+    public Map<String, DataSource> getPools() {
+        return pools;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ConnectionPoolContext.Scope scope = ConnectionPoolContext.current();
+        String pool = scope != null ? scope.pool() : defaultPool;
+        DataSource dataSource = pools.get(pool);
+        if (dataSource == null) {
+            throw new IllegalStateException("Unknown connection pool: " + pool);
+        }
+
+        long start = System.nanoTime();
+        Connection connection = dataSource.getConnection();
+        long elapsed = System.nanoTime() - start;
+        if (elapsed >= slowAcquireNanos) {
+            logger.warn("Slow connection acquire from pool {}: {} ms, transaction: {}, caller: {}",
+                    pool, elapsed / 1_000_000, TransactionSynchronizationManager.getCurrentTransactionName(),
+                    scope != null ? scope.caller() : applicationCaller());
+        }
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return pools.get(defaultPool).getConnection(username, password);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach((name, pool) -> {
+            DataSource dataSource = pool instanceof DelegatingDataSource delegating
+                    ? delegating.getTargetDataSource() : pool;
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close connection pool {}", name, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 调用栈中最近的业务代码方法，只在慢获取时计算
+     */
+    private static String applicationCaller() {
+        Optional<String> caller = StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(DATASOURCE_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName())
+                .findFirst());
+        return caller.orElse("unknown");
+    }
+}
@@ -0,0 +1,41 @@
+package com.admin.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置（app.datasource.routing）：只读事务路由到副本，其余走 spring.datasource 主库
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // 复制延迟超过该值的副本暂停接收读请求，直到追上
+    private Duration maxReplicationLag = Duration.ofSeconds(5);
+
+    // 写事务提交后的这段时间内，同一用户（或同一线程）的只读事务仍读主库，保证读到自己的写入
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // 副本健康与延迟的检查间隔
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        // 为空时沿用主库的用户名和密码
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,192 @@
+package com.admin.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离数据源：只读事务轮询健康的副本，其余连接取自主库。
+ * <p>
+ * 必须包在 LazyConnectionDataSourceProxy 中使用：事务开始时只读标记尚未登记到
+ * TransactionSynchronizationManager，延迟到第一条语句执行时再取连接才能看到。
+ * 副本全部不健康、取连接失败或刚写入过时退回主库。
+ * <p>
+ * 读写事务只有真正执行过写语句（SELECT 以外的语句）并提交后才记为写入，只读查询的读写事务不影响后续路由。
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    // Statement 上携带 SQL 的执行方法
+    private static final Set<String> STATEMENT_SQL_METHODS =
+            Set.of("execute", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaNode> replicas,
+                                      ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isReadOnlyTransaction()) {
+            if (!readYourWritesTracker.recentlyWrote()) {
+                ReplicaNode replica = nextHealthyReplica();
+                if (replica != null) {
+                    try {
+                        return replica.getDataSource().getConnection();
+                    } catch (SQLException e) {
+                        // 等待健康检查确认恢复后再重新启用
+                        if (replica.markHealthy(false)) {
+                            logger.warn("Replica {} unavailable, routing reads to primary", replica.getName(), e);
+                        }
+                    }
+                }
+            }
+            return primary.getConnection();
+        }
+        Connection connection = primary.getConnection();
+        // 事务外取连接（自动提交的读、连接池探测默认属性等）不记录
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        return trackWrites(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() {
+        for (ReplicaNode replica : replicas) {
+            if (replica.getDataSource() instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close replica {}", replica.getName(), e);
+                }
+            }
+        }
+    }
+
+    private static boolean isReadOnlyTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private ReplicaNode nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 包装主库连接：第一次准备或执行写语句时登记提交回调，一个事务只登记一次
+     */
+    private Connection trackWrites(Connection connection) {
+        AtomicBoolean registered = new AtomicBoolean();
+        Runnable onWrite = () -> {
+            if (TransactionSynchronizationManager.isSynchronizationActive() && registered.compareAndSet(false, true)) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite();
+                    }
+                });
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "prepareStatement":
+                        case "prepareCall":
+                            if (isWrite((String) args[0])) {
+                                onWrite.run();
+                            }
+                            return invoke(connection, method, args);
+                        case "createStatement":
+                            return trackWrites((Statement) invoke(connection, method, args), onWrite);
+                        default:
+                            return invoke(connection, method, args);
+                    }
+                });
+    }
+
+    private static Statement trackWrites(Statement statement, Runnable onWrite) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[]{Statement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            if (STATEMENT_SQL_METHODS.contains(method.getName())
+                                    && args != null && args[0] instanceof String sql && isWrite(sql)) {
+                                onWrite.run();
+                            }
+                            return invoke(statement, method, args);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * SELECT 以外的语句都视为写入；无法判断时按写入处理，最多让后续读多走一次主库
+     */
+    private static boolean isWrite(String sql) {
+        String statement = sql.stripLeading();
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end < 0) {
+                return true;
+            }
+            statement = statement.substring(end + 2).stripLeading();
+        }
+        return !statement.regionMatches(true, 0, "select", 0, 6);
+    }
+}
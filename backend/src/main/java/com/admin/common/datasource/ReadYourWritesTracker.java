@@ -0,0 +1,64 @@
+package com.admin.common.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * 记录最近的写入，窗口期内的只读事务改读主库，避免副本延迟导致读不到刚写入的数据。
+ * <p>
+ * 按当前登录用户记录，覆盖“写后立即刷新列表”的后续请求；未登录时记在当前 HTTP 请求上，只覆盖同一请求内的读，
+ * 请求结束即失效，不会留在复用的线程上。记录只在本节点内有效。
+ */
+public class ReadYourWritesTracker {
+
+    private static final String LAST_WRITE_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".lastWrite";
+
+    private final long windowNanos;
+    private final Cache<String, Long> lastWriteByUser;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+        this.lastWriteByUser = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite() {
+        long now = System.nanoTime();
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(LAST_WRITE_ATTRIBUTE, now, RequestAttributes.SCOPE_REQUEST);
+        }
+        String user = currentUser();
+        if (user != null) {
+            lastWriteByUser.put(user, now);
+        }
+    }
+
+    public boolean recentlyWrote() {
+        long now = System.nanoTime();
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof Long inRequest && now - inRequest < windowNanos) {
+            return true;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long byUser = lastWriteByUser.getIfPresent(user);
+        return byUser != null && now - byUser < windowNanos;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
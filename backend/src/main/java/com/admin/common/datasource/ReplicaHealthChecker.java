@@ -0,0 +1,76 @@
+package com.admin.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 定期检查副本：连不上或复制延迟超过阈值的副本暂停接收读请求，恢复后自动重新启用
+ */
+public class ReplicaHealthChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthChecker.class);
+
+    // 已追上主库（或不在恢复模式）时为 0，否则为最后一次回放的事务距今的秒数
+    static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final List<ReplicaNode> replicas;
+    private final Duration maxReplicationLag;
+
+    public ReplicaHealthChecker(List<ReplicaNode> replicas, Duration maxReplicationLag) {
+        this.replicas = replicas;
+        this.maxReplicationLag = maxReplicationLag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval:5s}")
+    public void checkReplicas() {
+        for (ReplicaNode replica : replicas) {
+            check(replica);
+        }
+    }
+
+    void check(ReplicaNode replica) {
+        long lagMillis;
+        try {
+            lagMillis = queryLagMillis(replica);
+        } catch (SQLException | RuntimeException e) {
+            if (replica.markHealthy(false)) {
+                logger.warn("Replica {} failed health check, routing reads to primary", replica.getName(), e);
+            }
+            return;
+        }
+
+        replica.setLagMillis(lagMillis);
+        boolean healthy = lagMillis <= maxReplicationLag.toMillis();
+        if (replica.markHealthy(healthy)) {
+            if (healthy) {
+                logger.info("Replica {} is healthy again (lag {} ms)", replica.getName(), lagMillis);
+            } else {
+                logger.warn("Replica {} lags {} ms behind primary, routing reads to primary",
+                        replica.getName(), lagMillis);
+            }
+        }
+    }
+
+    private static long queryLagMillis(ReplicaNode replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+                resultSet.next();
+                return Math.round(resultSet.getDouble(1) * 1000);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.admin.common.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * 一个只读副本及其健康状态，由 ReplicaHealthChecker 定期更新
+ */
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+    private volatile long lagMillis;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * @return 状态是否发生变化
+     */
+    boolean markHealthy(boolean healthy) {
+        boolean changed = this.healthy != healthy;
+        this.healthy = healthy;
+        return changed;
+    }
+
+    void setLagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+}
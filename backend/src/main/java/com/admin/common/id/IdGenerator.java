@@ -0,0 +1,33 @@
+package com.admin.common.id;
+
+/**
+ * 全局唯一、按时间递增的 ID 生成器
+ */
+public interface IdGenerator {
+
+    // long 的十进制最大位数，编号统一补齐到该宽度，字符串顺序即生成顺序
+    int DECIMAL_WIDTH = 19;
+
+    long nextId();
+
+    /**
+     * 生成带前缀的定长编号，如 ORD0000123456789012345
+     */
+    default String nextNumber(String prefix) {
+        return format(prefix, nextId());
+    }
+
+    static String format(String prefix, long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("ID不能为负数: " + id);
+        }
+        int prefixLength = prefix.length();
+        char[] chars = new char[prefixLength + DECIMAL_WIDTH];
+        prefix.getChars(0, prefixLength, chars, 0);
+        for (int i = chars.length - 1; i >= prefixLength; i--) {
+            chars[i] = (char) ('0' + (id % 10));
+            id /= 10;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,74 @@
+package com.admin.common.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 未配置节点号时，从 Redis 租用一个空闲节点号（SET NX + TTL），运行期间定期续租
+ */
+@Component
+public class RedisNodeIdAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisNodeIdAllocator.class);
+
+    private static final String CURSOR_KEY = "id:node-cursor";
+    private static final String NODE_KEY_PREFIX = "id:node:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration leaseTtl;
+    private final String instanceToken = UUID.randomUUID().toString();
+
+    private volatile long nodeId = -1;
+
+    public RedisNodeIdAllocator(StringRedisTemplate redisTemplate,
+                                @Value("${app.id.node-lease-ttl:60s}") Duration leaseTtl) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * 租用节点号，从轮转游标处开始尝试，避免所有节点争抢 0 号
+     */
+    public long allocate() {
+        for (long attempt = 0; attempt <= SnowflakeIdGenerator.MAX_NODE_ID; attempt++) {
+            Long cursor = redisTemplate.opsForValue().increment(CURSOR_KEY);
+            long candidate = (cursor != null ? cursor : attempt) & SnowflakeIdGenerator.MAX_NODE_ID;
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(NODE_KEY_PREFIX + candidate, instanceToken, leaseTtl);
+            if (Boolean.TRUE.equals(acquired)) {
+                nodeId = candidate;
+                logger.info("Leased ID generator node id {} from Redis", candidate);
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("没有可用的ID生成器节点号");
+    }
+
+    @Scheduled(fixedDelayString = "${app.id.node-lease-renew-interval:20s}")
+    public void renew() {
+        long current = nodeId;
+        if (current < 0) {
+            return;
+        }
+        try {
+            String key = NODE_KEY_PREFIX + current;
+            if (instanceToken.equals(redisTemplate.opsForValue().get(key))) {
+                redisTemplate.expire(key, leaseTtl);
+            } else if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, instanceToken, leaseTtl))) {
+                // 租约过期但未被他人占用（如 Redis 重启），重新占用
+                logger.warn("Re-acquired expired ID generator node id {}", current);
+            } else {
+                logger.error("ID generator node id {} is now held by another instance, IDs may collide", current);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to renew ID generator node id {}", current, e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.admin.common.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake 风格 ID：41 位毫秒时间戳 + 10 位节点号 + 12 位序列号。
+ * <p>
+ * 时间戳与序列号放在同一个 AtomicLong 中，一次 CAS 完成分配，无锁。
+ * 单毫秒序列号用尽或时钟回拨时继续使用上一个时间戳之后的值（向未来借用），
+ * 保证同一节点内严格递增，不会等待也不会重复。
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    // 2024-01-01T00:00:00Z，41 位时间戳可用到 2093 年
+    public static final long DEFAULT_EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private final long nodeBits;
+    private final long epochMillis;
+    private final LongSupplier clock;
+
+    // (相对时间戳 << SEQUENCE_BITS) | 序列号
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, DEFAULT_EPOCH_MILLIS, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, long epochMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("节点号超出范围 [0, " + MAX_NODE_ID + "]: " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.epochMillis = epochMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        long now = (clock.getAsLong() - epochMillis) << SEQUENCE_BITS;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            // 新的毫秒从序列号 0 开始；否则在上一个值上加一，序列号溢出时自然进位到下一毫秒
+            next = now > current ? now : current + 1;
+        } while (!state.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        return (timestamp << TIMESTAMP_SHIFT) | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    public long getNodeId() {
+        return nodeBits >>> SEQUENCE_BITS;
+    }
+}
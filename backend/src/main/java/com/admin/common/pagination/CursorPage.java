@@ -0,0 +1,26 @@
+package com.admin.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集分页结果。nextCursor 为空表示没有下一页；
+ * estimatedTotal 取自表统计信息（pg_class.reltuples），仅在请求时返回，不是精确值。
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, Long estimatedTotal) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * 由多取一条的查询结果构造分页：结果条数超过 size 即说明还有下一页
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Cursor> cursorOf,
+                                          Function<List<E>, List<T>> converter, Long estimatedTotal) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(converter.apply(page), nextCursor, estimatedTotal);
+    }
+}
@@ -0,0 +1,29 @@
+package com.admin.common.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 键集分页参数：游标 + 每页条数，查询时多取一条用于判断是否有下一页
+ */
+public record CursorPageRequest(Cursor after, int size, boolean includeTotal) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public static CursorPageRequest of(String after, Integer size, boolean includeTotal) {
+        int resolved = size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE));
+        return new CursorPageRequest(Cursor.decode(after), resolved, includeTotal);
+    }
+
+    public boolean isFirstPage() {
+        return after == null;
+    }
+
+    /**
+     * 只限制条数、不触发 COUNT 查询的分页参数
+     */
+    public Pageable limit() {
+        return PageRequest.of(0, size + 1);
+    }
+}
@@ -0,0 +1,30 @@
+package com.admin.common.pagination;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 从 PostgreSQL 表统计信息读取近似行数，代替大表上的 COUNT(*)
+ */
+@Component
+@RequiredArgsConstructor
+public class RowCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param table 表名（仅限代码中的常量，不接受外部输入）
+     * @return 近似行数，表从未 ANALYZE 时返回 null
+     */
+    public Long estimate(String table) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+        if (rows.isEmpty() || rows.get(0) == null || rows.get(0) < 0) {
+            return null;
+        }
+        return rows.get(0);
+    }
+}
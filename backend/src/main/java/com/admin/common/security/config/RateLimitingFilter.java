@@ -1,33 +1,41 @@
 package com.admin.common.security.config;
 
-import com.google.common.util.concurrent.RateLimiter;
+import com.admin.common.security.ratelimit.RateLimitKeyType;
+import com.admin.common.security.ratelimit.RateLimitPolicy;
+import com.admin.common.security.ratelimit.RateLimitProperties;
+import com.admin.common.security.ratelimit.RateLimiterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Component
+@RequiredArgsConstructor
 public class RateLimitingFilter extends OncePerRequestFilter {
 
-    private final ConcurrentHashMap<String, RateLimiter> limiters = new ConcurrentHashMap<>();
-    
-    // 每秒允许10个请求
-    private static final double PERMITS_PER_SECOND = 10.0;
-    
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final RateLimitProperties rateLimitProperties;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
-        String clientIp = getClientIp(request);
-        RateLimiter rateLimiter = limiters.computeIfAbsent(clientIp, 
-            k -> RateLimiter.create(PERMITS_PER_SECOND));
-        
-        if (rateLimiter.tryAcquire()) {
+
+        if (!rateLimitProperties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitPolicy policy = rateLimiterRegistry.resolvePolicy(request.getRequestURI());
+
+        if (rateLimiterRegistry.tryAcquire(policy, resolveClientKey(policy, request))) {
             filterChain.doFilter(request, response);
         } else {
             response.setStatus(429);
@@ -35,12 +43,24 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
     }
-    
+
+    private String resolveClientKey(RateLimitPolicy policy, HttpServletRequest request) {
+        // JWT 过滤器在本过滤器之前执行，按用户限流时可直接取认证信息
+        if (policy.getKeyType() == RateLimitKeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + getClientIp(request);
+    }
+
     private String getClientIp(HttpServletRequest request) {
         String xfHeader = request.getHeader("X-Forwarded-For");
         if (xfHeader == null) {
             return request.getRemoteAddr();
         }
-        return xfHeader.split(",")[0];
+        return xfHeader.split(",")[0].trim();
     }
-}
\ No newline at end of file
+}
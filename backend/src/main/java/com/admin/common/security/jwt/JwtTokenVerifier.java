@@ -0,0 +1,87 @@
+package com.admin.common.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * 请求级令牌校验：每个令牌只解析、验签一次，结果以声明对象返回给过滤器。
+ * 可选地缓存最近验证过的令牌（以 SHA-256 摘要为键，不保存令牌原文），命中时跳过解析与 HMAC。
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenVerifier.class);
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtTokenVerifier(JwtUtils jwtUtils,
+                            @Value("${app.security.jwt-cache.enabled:true}") boolean cacheEnabled,
+                            @Value("${app.security.jwt-cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.jwtUtils = jwtUtils;
+        this.verifiedTokens = cacheEnabled
+                ? Caffeine.newBuilder().maximumSize(cacheMaximumSize).build()
+                : null;
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        String digest = null;
+        if (verifiedTokens != null) {
+            digest = digest(token);
+            VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    return Optional.of(cached);
+                }
+                verifiedTokens.invalidate(digest);
+                return Optional.empty();
+            }
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = jwtUtils.parseClaims(token);
+            verified = new VerifiedToken(claims.getSubject(),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        } catch (ExpiredJwtException e) {
+            logger.debug("JWT token is expired: {}", e.getMessage());
+            return Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (verifiedTokens != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return Optional.of(verified);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
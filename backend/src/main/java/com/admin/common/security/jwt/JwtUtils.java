@@ -2,30 +2,38 @@ package com.admin.common.security.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Function;
 
 @Component
 public class JwtUtils {
 
-    @Value("${spring.security.jwt.secret}")
-    private String jwtSecret;
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${spring.security.jwt.expiration}")
-    private int jwtExpirationMs;
+    private final int jwtExpirationMs;
 
-    @Value("${spring.security.jwt.refresh-expiration}")
-    private int jwtRefreshExpirationMs;
+    private final int jwtRefreshExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // 签名密钥与解析器只构建一次，二者都是线程安全的
+    private final SecretKey signingKey;
+
+    private final JwtParser jwtParser;
+
+    public JwtUtils(@Value("${spring.security.jwt.secret}") String jwtSecret,
+                    @Value("${spring.security.jwt.expiration}") int jwtExpirationMs,
+                    @Value("${spring.security.jwt.refresh-expiration}") int jwtRefreshExpirationMs) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.jwtRefreshExpirationMs = jwtRefreshExpirationMs;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateJwtToken(UserDetails userPrincipal) {
@@ -34,22 +42,31 @@ public class JwtUtils {
 
     public String generateTokenFromUsername(String username) {
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
     }
 
     public String generateRefreshToken(String username) {
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtRefreshExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date((new Date()).getTime() + jwtRefreshExpirationMs))
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
     }
 
+    /**
+     * 验证签名与有效期并返回声明，每个令牌只做一次 HMAC 计算
+     *
+     * @throws JwtException 令牌无效或已过期
+     */
+    public Claims parseClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
     public String getUserNameFromJwtToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -59,17 +76,10 @@ public class JwtUtils {
     }
 
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
     private Boolean isTokenExpired(String token) {
         final Date expiration = getExpirationDateFromToken(token);
         return expiration.before(new Date());
@@ -77,18 +87,12 @@ public class JwtUtils {
 
     public Boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(authToken);
+            parseClaims(authToken);
             return true;
-        } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            logger.debug("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Invalid JWT token: {}", e.getMessage());
         }
         return false;
     }
@@ -101,4 +105,4 @@ public class JwtUtils {
     public int getJwtExpirationMs() {
         return jwtExpirationMs;
     }
-}
\ No newline at end of file
+}
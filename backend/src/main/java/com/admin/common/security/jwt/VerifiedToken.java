@@ -0,0 +1,13 @@
+package com.admin.common.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * 已通过签名校验的令牌声明
+ */
+public record VerifiedToken(String username, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
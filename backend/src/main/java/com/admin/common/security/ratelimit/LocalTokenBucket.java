@@ -0,0 +1,38 @@
+package com.admin.common.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地令牌桶（GCRA 形式）：只保存“理论到达时间”一个 long，取令牌为一次 CAS，不加锁，
+ * 在虚拟线程上不会钉住载体线程。桶容量与 Redis 令牌桶一致，新建时是满的。
+ */
+final class LocalTokenBucket {
+
+    // 每个令牌的间隔与允许的突发量，单位纳秒
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    LocalTokenBucket(double permitsPerSecond, long capacity, long nowNanos) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and capacity must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        long current;
+        long next;
+        do {
+            current = theoreticalArrivalNanos.get();
+            long start = current - nowNanos > 0 ? current : nowNanos;
+            next = start + intervalNanos;
+            if (next - nowNanos > burstNanos) {
+                return false;
+            }
+        } while (!theoreticalArrivalNanos.compareAndSet(current, next));
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.admin.common.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本节点从集群令牌桶预取的一批令牌，取用时仅做 CAS，不访问 Redis
+ */
+final class PermitLease {
+
+    private final AtomicLong remaining = new AtomicLong();
+    // nanoTime 可能为负，初始化为当前时间表示“已过期”
+    private volatile long expiresAtNanos = System.nanoTime();
+
+    boolean tryTake(long nowNanos) {
+        if (nowNanos - expiresAtNanos >= 0) {
+            return false;
+        }
+        long current;
+        do {
+            current = remaining.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!remaining.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    /**
+     * 并发续租时后写入者覆盖先写入者，被覆盖的令牌作废，只会少放行
+     */
+    void renew(long permits, long expiresAtNanos) {
+        remaining.set(permits);
+        this.expiresAtNanos = expiresAtNanos;
+    }
+}
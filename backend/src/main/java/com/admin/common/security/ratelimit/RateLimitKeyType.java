@@ -0,0 +1,11 @@
+package com.admin.common.security.ratelimit;
+
+/**
+ * 限流计数维度
+ */
+public enum RateLimitKeyType {
+    // 按客户端 IP
+    IP,
+    // 按登录用户，未登录请求退化为按 IP
+    USER
+}
@@ -0,0 +1,61 @@
+package com.admin.common.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * 解析后的限流策略，命中/拒绝计数器在启动时注册，请求路径上不再查找 Meter
+ */
+public class RateLimitPolicy {
+
+    private final String name;
+    private final PathPattern pathPattern;
+    private final double permitsPerSecond;
+    private final RateLimitKeyType keyType;
+    private final Counter allowedCounter;
+    private final Counter rejectedCounter;
+
+    RateLimitPolicy(RateLimitProperties.Policy config, MeterRegistry meterRegistry) {
+        this.name = config.getName();
+        this.pathPattern = PathPatternParser.defaultInstance.parse(config.getPathPattern());
+        this.permitsPerSecond = config.getPermitsPerSecond();
+        this.keyType = config.getKeyType();
+        this.allowedCounter = Counter.builder("rate_limit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("policy", name)
+                .tag("outcome", "allowed")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("rate_limit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("policy", name)
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(PathContainer path) {
+        return pathPattern.matches(path);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public RateLimitKeyType getKeyType() {
+        return keyType;
+    }
+
+    void recordAllowed() {
+        allowedCounter.increment();
+    }
+
+    void recordRejected() {
+        rejectedCounter.increment();
+    }
+}
@@ -0,0 +1,55 @@
+package com.admin.common.security.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置（app.rate-limit），policies 按顺序匹配，未命中时使用默认策略
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 限流器存储上限，超出后按最近最少使用淘汰
+    private long maximumClients = 100_000;
+
+    // 客户端空闲多久后回收其限流器
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    private Policy defaultPolicy = new Policy();
+
+    private List<Policy> policies = new ArrayList<>();
+
+    private Distributed distributed = new Distributed();
+
+    @Data
+    public static class Policy {
+        private String name = "default";
+        private String pathPattern = "/**";
+        private double permitsPerSecond = 10.0;
+        private RateLimitKeyType keyType = RateLimitKeyType.IP;
+    }
+
+    @Data
+    public static class Distributed {
+        // 是否使用 Redis 令牌桶做集群级限流
+        private boolean enabled = true;
+
+        // 每次向 Redis 预取的令牌数，本地用完前不再访问 Redis
+        private int leaseSize = 10;
+
+        // 预取令牌的有效期，过期未用的令牌直接丢弃，只会少放行不会多放行
+        private Duration leaseTtl = Duration.ofMillis(250);
+
+        // Redis 不可用后多久再尝试，期间使用本地限流
+        private Duration fallbackRetryInterval = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,137 @@
+package com.admin.common.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 限流器存储：按“策略 + 客户端”保存限流状态，容量有上限且空闲后自动回收，
+ * 避免扫描或大量 NAT 客户端导致内存无限增长。命中已有条目的读取是无锁的。
+ * <p>
+ * 开启集群限流时，令牌来自 Redis 令牌桶，本节点按批预取（{@link PermitLease}），
+ * 大部分请求只做一次本地 CAS；Redis 不可用时退回本地限流器，并在一段时间后再重试 Redis。
+ */
+@Component
+public class RateLimiterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiterRegistry.class);
+
+    private final RateLimitPolicy defaultPolicy;
+    private final List<RateLimitPolicy> policies;
+    private final Cache<String, LocalTokenBucket> localLimiters;
+    private final Cache<String, PermitLease> leases;
+    private final TokenBucketBackend tokenBucketBackend;
+    private final RateLimitProperties.Distributed distributed;
+    private final Counter fallbackCounter;
+
+    // Redis 故障后，在此时间点之前直接使用本地限流
+    private volatile long redisRetryAtNanos = System.nanoTime();
+
+    public RateLimiterRegistry(RateLimitProperties properties, MeterRegistry meterRegistry,
+                               TokenBucketBackend tokenBucketBackend) {
+        this.defaultPolicy = new RateLimitPolicy(properties.getDefaultPolicy(), meterRegistry);
+        List<RateLimitPolicy> resolved = new ArrayList<>();
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            resolved.add(new RateLimitPolicy(policy, meterRegistry));
+        }
+        this.policies = Collections.unmodifiableList(resolved);
+        this.localLimiters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+        this.tokenBucketBackend = tokenBucketBackend;
+        this.distributed = properties.getDistributed();
+
+        Gauge.builder("rate_limit.clients", localLimiters, Cache::estimatedSize)
+                .description("Local rate limiters currently held in memory")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.leases", leases, Cache::estimatedSize)
+                .description("Cluster permit leases currently held in memory")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("rate_limit.fallback")
+                .description("Requests limited locally because Redis was unavailable")
+                .register(meterRegistry);
+    }
+
+    public RateLimitPolicy resolvePolicy(String path) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (RateLimitPolicy policy : policies) {
+            if (policy.matches(pathContainer)) {
+                return policy;
+            }
+        }
+        return defaultPolicy;
+    }
+
+    public boolean tryAcquire(RateLimitPolicy policy, String clientKey) {
+        String key = policy.getName() + '|' + clientKey;
+        boolean allowed = distributed.isEnabled()
+                ? tryAcquireClusterPermit(policy, key)
+                : tryAcquireLocal(policy, key);
+        if (allowed) {
+            policy.recordAllowed();
+        } else {
+            policy.recordRejected();
+        }
+        return allowed;
+    }
+
+    private boolean tryAcquireClusterPermit(RateLimitPolicy policy, String key) {
+        long now = System.nanoTime();
+        PermitLease lease = leases.get(key, k -> new PermitLease());
+        if (lease.tryTake(now)) {
+            return true;
+        }
+
+        if (now - redisRetryAtNanos < 0) {
+            fallbackCounter.increment();
+            return tryAcquireLocal(policy, key);
+        }
+
+        long capacity = capacity(policy);
+        long batch = Math.max(1, Math.min(distributed.getLeaseSize(), capacity));
+        long granted;
+        try {
+            granted = tokenBucketBackend.acquire(key, policy.getPermitsPerSecond(), capacity, batch);
+        } catch (RuntimeException e) {
+            logger.warn("Redis rate limiter unavailable, falling back to local limits for {}",
+                    distributed.getFallbackRetryInterval(), e);
+            redisRetryAtNanos = now + distributed.getFallbackRetryInterval().toNanos();
+            fallbackCounter.increment();
+            return tryAcquireLocal(policy, key);
+        }
+
+        if (granted <= 0) {
+            return false;
+        }
+        // 当前请求消耗一个，剩余的留给本节点后续请求
+        lease.renew(granted - 1, now + distributed.getLeaseTtl().toNanos());
+        return true;
+    }
+
+    private boolean tryAcquireLocal(RateLimitPolicy policy, String key) {
+        long now = System.nanoTime();
+        LocalTokenBucket bucket = localLimiters.get(key,
+                k -> new LocalTokenBucket(policy.getPermitsPerSecond(), capacity(policy), now));
+        return bucket.tryAcquire(now);
+    }
+
+    // 桶容量为一秒的令牌数
+    private static long capacity(RateLimitPolicy policy) {
+        return Math.max(1, (long) Math.ceil(policy.getPermitsPerSecond()));
+    }
+}
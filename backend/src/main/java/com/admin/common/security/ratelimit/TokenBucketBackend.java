@@ -0,0 +1,14 @@
+package com.admin.common.security.ratelimit;
+
+/**
+ * 集群共享的令牌桶存储
+ */
+public interface TokenBucketBackend {
+
+    /**
+     * 从 key 对应的令牌桶中最多取 requested 个令牌
+     *
+     * @return 实际取得的令牌数，0 表示桶已空
+     */
+    long acquire(String key, double permitsPerSecond, long capacity, long requested);
+}
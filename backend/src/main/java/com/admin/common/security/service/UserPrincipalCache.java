@@ -0,0 +1,49 @@
+package com.admin.common.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * JWT 认证用的用户主体缓存：按用户名缓存 UserDetails，避免每个请求都查询用户和角色。
+ * 用户资料、状态、角色或密码变更时由 UserService 主动失效，TTL 作为兜底。
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserPrincipalCache(@Value("${app.security.principal-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${app.security.principal-cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    /**
+     * 立即失效；若处于事务中，提交后再失效一次，防止提交前的并发请求把旧数据重新放回缓存
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(username);
+                }
+            });
+        }
+    }
+}
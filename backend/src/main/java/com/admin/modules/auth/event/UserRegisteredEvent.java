@@ -0,0 +1,7 @@
+package com.admin.modules.auth.event;
+
+/**
+ * 用户注册事件
+ */
+public record UserRegisteredEvent(Long userId, String username) {
+}
@@ -10,9 +10,11 @@ import com.admin.modules.auth.dto.SignupResponse;
 import com.admin.modules.auth.entity.Role;
 import com.admin.modules.auth.entity.User;
 import com.admin.modules.auth.enums.RoleName;
+import com.admin.modules.auth.event.UserRegisteredEvent;
 import com.admin.modules.auth.repository.RoleRepository;
 import com.admin.modules.auth.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -44,6 +46,9 @@ public class AuthService {
     @Autowired
     private BruteForceProtectionService bruteForceProtectionService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public LoginResponse authenticateUser(LoginRequest loginRequest, String ip) {
         String username = loginRequest.getUsername();
         
@@ -116,6 +121,7 @@ public class AuthService {
 
         user.setRoles(roles);
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId(), savedUser.getUsername()));
 
         SignupResponse response = new SignupResponse();
         response.setMessage("用户注册成功！");
@@ -1,6 +1,7 @@
 package com.admin.modules.auth.service;
 
 import com.admin.common.exception.ResourceNotFoundException;
+import com.admin.common.security.service.UserPrincipalCache;
 import com.admin.modules.auth.dto.UserDto;
 import com.admin.modules.auth.dto.UserUpdateRequest;
 import com.admin.modules.auth.entity.Role;
@@ -30,16 +31,22 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Transactional(readOnly = true)
     public Page<UserDto> getAllUsers(Pageable pageable) {
         return userRepository.findAll(pageable).map(this::convertToDto);
     }
 
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         return convertToDto(user);
     }
 
+    @Transactional(readOnly = true)
     public UserDto getUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
@@ -63,6 +70,7 @@ public class UserService {
             throw new IllegalArgumentException("Email is already in use!");
         }
 
+        userPrincipalCache.invalidate(user.getUsername());
         user.setUsername(updateRequest.getUsername());
         user.setEmail(updateRequest.getEmail());
         user.setPhone(updateRequest.getPhone());
@@ -92,6 +100,7 @@ public class UserService {
 
         user.setStatus(UserStatus.DELETED);
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getUsername());
     }
 
     @Transactional
@@ -105,6 +114,7 @@ public class UserService {
 
         user.setStatus(UserStatus.FROZEN);
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.invalidate(user.getUsername());
         return convertToDto(updatedUser);
     }
 
@@ -119,6 +129,7 @@ public class UserService {
 
         user.setStatus(UserStatus.ACTIVE);
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.invalidate(user.getUsername());
         return convertToDto(updatedUser);
     }
 
@@ -129,6 +140,7 @@ public class UserService {
 
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getUsername());
     }
 
     private UserDto convertToDto(User user) {
@@ -1,7 +1,11 @@
 package com.admin.modules.dashboard.controller;
 
 import com.admin.modules.dashboard.dto.DashboardStatsDto;
+import com.admin.modules.dashboard.dto.TrendSeriesDto;
+import com.admin.modules.dashboard.enums.TrendBucket;
+import com.admin.modules.dashboard.enums.TrendMetric;
 import com.admin.modules.dashboard.service.DashboardService;
+import com.admin.modules.dashboard.service.DashboardTrendService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
     
     private final DashboardService dashboardService;
+    private final DashboardTrendService dashboardTrendService;
     
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST')")
@@ -24,7 +29,17 @@ public class DashboardController {
     @GetMapping("/stats/realtime")
     @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST')")
     public ResponseEntity<DashboardStatsDto> getRealtimeStats() {
-        DashboardStatsDto stats = dashboardService.getDashboardStats();
+        DashboardStatsDto stats = dashboardService.getRealtimeStats();
         return ResponseEntity.ok(stats);
     }
+    
+    @GetMapping("/trends")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST')")
+    public ResponseEntity<TrendSeriesDto> getTrend(
+            @RequestParam String metric,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(defaultValue = "7") int days) {
+        TrendSeriesDto trend = dashboardTrendService.getTrend(TrendMetric.from(metric), TrendBucket.from(bucket), days);
+        return ResponseEntity.ok(trend);
+    }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.admin.modules.dashboard.dto;
 
+import com.admin.modules.dashboard.enums.DashboardSection;
 import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -49,4 +51,7 @@ public class DashboardStatsDto {
     
     // 实时数据
     private LocalDateTime lastUpdated;
+    
+    // 本次未能按时算出、返回上一次结果（或为空）的分区
+    private List<DashboardSection> staleSections;
 }
\ No newline at end of file
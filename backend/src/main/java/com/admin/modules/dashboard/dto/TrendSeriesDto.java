@@ -0,0 +1,18 @@
+package com.admin.modules.dashboard.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class TrendSeriesDto {
+    private String metric;
+    private String bucket;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    
+    // labels 与 values 按时间顺序一一对应，无数据的桶补 0
+    private String[] labels;
+    private BigDecimal[] values;
+}
@@ -0,0 +1,13 @@
+package com.admin.modules.dashboard.enums;
+
+/**
+ * 仪表盘统计分区，各分区互不依赖，可并行计算
+ */
+public enum DashboardSection {
+    USERS,
+    PRODUCTS,
+    ORDERS,
+    CONVERSION,
+    LOGISTICS,
+    TRENDS
+}
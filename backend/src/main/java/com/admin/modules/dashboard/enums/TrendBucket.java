@@ -0,0 +1,78 @@
+package com.admin.modules.dashboard.enums;
+
+import com.admin.common.exception.BadRequestException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 趋势时间粒度，截断规则与 PostgreSQL date_trunc 保持一致（周从周一开始）
+ */
+public enum TrendBucket {
+    HOUR("hour", DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00")),
+    DAY("day", DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+    WEEK("week", DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+
+    private final String sqlUnit;
+    private final DateTimeFormatter labelFormatter;
+
+    TrendBucket(String sqlUnit, DateTimeFormatter labelFormatter) {
+        this.sqlUnit = sqlUnit;
+        this.labelFormatter = labelFormatter;
+    }
+
+    public static TrendBucket from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("不支持的时间粒度: " + value);
+        }
+    }
+
+    public String getSqlUnit() {
+        return sqlUnit;
+    }
+
+    public LocalDateTime truncate(LocalDateTime time) {
+        switch (this) {
+            case HOUR:
+                return time.truncatedTo(ChronoUnit.HOURS);
+            case DAY:
+                return time.truncatedTo(ChronoUnit.DAYS);
+            default:
+                return time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+    }
+
+    /**
+     * 从 start（已截断）到 time 所在桶的偏移量
+     */
+    public int indexOf(LocalDateTime start, LocalDateTime time) {
+        switch (this) {
+            case HOUR:
+                return (int) ChronoUnit.HOURS.between(start, truncate(time));
+            case DAY:
+                return (int) ChronoUnit.DAYS.between(start, truncate(time));
+            default:
+                return (int) ChronoUnit.WEEKS.between(start, truncate(time));
+        }
+    }
+
+    public LocalDateTime plus(LocalDateTime start, int buckets) {
+        switch (this) {
+            case HOUR:
+                return start.plusHours(buckets);
+            case DAY:
+                return start.plusDays(buckets);
+            default:
+                return start.plusWeeks(buckets);
+        }
+    }
+
+    public String label(LocalDateTime bucketStart) {
+        return labelFormatter.format(bucketStart);
+    }
+}
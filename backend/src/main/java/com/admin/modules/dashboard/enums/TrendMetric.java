@@ -0,0 +1,17 @@
+package com.admin.modules.dashboard.enums;
+
+import com.admin.common.exception.BadRequestException;
+
+public enum TrendMetric {
+    USERS,      // 新增用户数
+    ORDERS,     // 订单数
+    REVENUE;    // 收入
+
+    public static TrendMetric from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("不支持的趋势指标: " + value);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.admin.modules.dashboard.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 时间桶聚合值（date_trunc GROUP BY）
+ */
+public record BucketValue(LocalDateTime bucketStart, BigDecimal value) {
+}
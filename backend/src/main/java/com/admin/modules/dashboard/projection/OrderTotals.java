@@ -0,0 +1,15 @@
+package com.admin.modules.dashboard.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * 某个时间范围内的订单数与收入
+ */
+public record OrderTotals(long orderCount, BigDecimal revenue) {
+
+    public static final OrderTotals EMPTY = new OrderTotals(0, BigDecimal.ZERO);
+
+    public OrderTotals plus(OrderTotals other) {
+        return new OrderTotals(orderCount + other.orderCount, revenue.add(other.revenue));
+    }
+}
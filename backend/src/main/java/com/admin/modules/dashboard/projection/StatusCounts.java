@@ -0,0 +1,30 @@
+package com.admin.modules.dashboard.projection;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 按状态分组的计数结果（GROUP BY status）
+ */
+public record StatusCounts<E extends Enum<E>>(Map<E, Long> counts) {
+
+    public long get(E status) {
+        return counts.getOrDefault(status, 0L);
+    }
+
+    public long sum(Collection<E> statuses) {
+        long sum = 0;
+        for (E status : statuses) {
+            sum += get(status);
+        }
+        return sum;
+    }
+
+    public long total() {
+        long total = 0;
+        for (Long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
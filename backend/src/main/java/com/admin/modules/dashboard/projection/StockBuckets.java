@@ -0,0 +1,7 @@
+package com.admin.modules.dashboard.projection;
+
+/**
+ * SKU库存分档计数：低库存（0 < stock < 阈值）与缺货（stock <= 0）
+ */
+public record StockBuckets(long lowStock, long outOfStock) {
+}
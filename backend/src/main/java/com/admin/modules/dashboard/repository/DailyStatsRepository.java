@@ -0,0 +1,164 @@
+package com.admin.modules.dashboard.repository;
+
+import com.admin.modules.dashboard.enums.TrendBucket;
+import com.admin.modules.dashboard.enums.TrendMetric;
+import com.admin.modules.dashboard.projection.BucketValue;
+import com.admin.modules.dashboard.projection.OrderTotals;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按日汇总表 daily_order_stats / daily_user_stats 的读写。
+ * 封存使用 INSERT ... SELECT ... ON CONFLICT DO NOTHING，已封存的日期不会被重算。
+ */
+@Repository
+@RequiredArgsConstructor
+public class DailyStatsRepository {
+
+    private final EntityManager entityManager;
+
+    public LocalDate findLastSealedOrderDate() {
+        return toLocalDate(entityManager.createNativeQuery("SELECT MAX(stat_date) FROM daily_order_stats")
+                .getSingleResult());
+    }
+
+    public LocalDate findLastSealedUserDate() {
+        return toLocalDate(entityManager.createNativeQuery("SELECT MAX(stat_date) FROM daily_user_stats")
+                .getSingleResult());
+    }
+
+    public LocalDate findFirstOrderDate() {
+        return toLocalDate(entityManager.createNativeQuery("SELECT CAST(MIN(created_at) AS date) FROM orders")
+                .getSingleResult());
+    }
+
+    public LocalDate findFirstUserDate() {
+        return toLocalDate(entityManager.createNativeQuery("SELECT CAST(MIN(created_at) AS date) FROM users")
+                .getSingleResult());
+    }
+
+    /**
+     * 封存 [from, to] 内的订单日汇总，没有订单的日期也写入 0 行，保证封存日期连续
+     */
+    public int sealOrderDays(LocalDate from, LocalDate to) {
+        return entityManager.createNativeQuery(
+                        "INSERT INTO daily_order_stats (stat_date, order_count, revenue, sealed_at) " +
+                        "SELECT d.stat_date, COUNT(o.id), " +
+                        "COALESCE(SUM(o.total_amount) FILTER (WHERE o.status IN (:statuses)), 0), now() " +
+                        "FROM (SELECT CAST(g AS date) AS stat_date " +
+                        "      FROM generate_series(CAST(:from AS timestamp), CAST(:to AS timestamp), interval '1 day') g) d " +
+                        "LEFT JOIN orders o ON o.created_at >= d.stat_date AND o.created_at < d.stat_date + 1 " +
+                        "GROUP BY d.stat_date " +
+                        "ON CONFLICT (stat_date) DO NOTHING")
+                .setParameter("statuses", DashboardStatsRepository.REVENUE_STATUSES.stream().map(Enum::name).toList())
+                .setParameter("from", from.atStartOfDay())
+                .setParameter("to", to.atStartOfDay())
+                .executeUpdate();
+    }
+
+    public int sealUserDays(LocalDate from, LocalDate to) {
+        return entityManager.createNativeQuery(
+                        "INSERT INTO daily_user_stats (stat_date, new_users, sealed_at) " +
+                        "SELECT d.stat_date, COUNT(u.id), now() " +
+                        "FROM (SELECT CAST(g AS date) AS stat_date " +
+                        "      FROM generate_series(CAST(:from AS timestamp), CAST(:to AS timestamp), interval '1 day') g) d " +
+                        "LEFT JOIN users u ON u.created_at >= d.stat_date AND u.created_at < d.stat_date + 1 " +
+                        "GROUP BY d.stat_date " +
+                        "ON CONFLICT (stat_date) DO NOTHING")
+                .setParameter("from", from.atStartOfDay())
+                .setParameter("to", to.atStartOfDay())
+                .executeUpdate();
+    }
+
+    /**
+     * 已封存日期的订单在事后进入/离开收入状态时，对该日收入做增量修正；
+     * 有外层事务时加入其中，否则单独提交
+     */
+    @Transactional
+    public int applyRevenueDelta(LocalDate statDate, BigDecimal delta) {
+        return entityManager.createNativeQuery(
+                        "UPDATE daily_order_stats SET revenue = revenue + :delta WHERE stat_date = :statDate")
+                .setParameter("delta", delta)
+                .setParameter("statDate", statDate)
+                .executeUpdate();
+    }
+
+    public OrderTotals sumOrderStats(LocalDate from, LocalDate to) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                        "SELECT COALESCE(SUM(order_count), 0), COALESCE(SUM(revenue), 0) FROM daily_order_stats " +
+                        "WHERE stat_date BETWEEN :from AND :to")
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getSingleResult();
+        return new OrderTotals(((Number) row[0]).longValue(), toBigDecimal(row[1]));
+    }
+
+    public long sumNewUsers(LocalDate from, LocalDate to) {
+        Object result = entityManager.createNativeQuery(
+                        "SELECT COALESCE(SUM(new_users), 0) FROM daily_user_stats WHERE stat_date BETWEEN :from AND :to")
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getSingleResult();
+        return ((Number) result).longValue();
+    }
+
+    /**
+     * 在汇总表上按趋势桶（日/周）再聚合，扫描行数只与天数有关
+     */
+    public List<BucketValue> aggregateByBucket(TrendMetric metric, TrendBucket bucket, LocalDate from, LocalDate to) {
+        String sql;
+        switch (metric) {
+            case USERS:
+                sql = "SELECT date_trunc(:unit, CAST(stat_date AS timestamp)), SUM(new_users) FROM daily_user_stats ";
+                break;
+            case ORDERS:
+                sql = "SELECT date_trunc(:unit, CAST(stat_date AS timestamp)), SUM(order_count) FROM daily_order_stats ";
+                break;
+            default:
+                sql = "SELECT date_trunc(:unit, CAST(stat_date AS timestamp)), SUM(revenue) FROM daily_order_stats ";
+        }
+        List<?> rows = entityManager.createNativeQuery(sql + "WHERE stat_date BETWEEN :from AND :to GROUP BY 1")
+                .setParameter("unit", bucket.getSqlUnit())
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+
+        List<BucketValue> values = new ArrayList<>();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            values.add(new BucketValue(toLocalDateTime(columns[0]), toBigDecimal(columns[1])));
+        }
+        return values;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return BigDecimal.valueOf(((Number) value).longValue());
+    }
+}
@@ -0,0 +1,164 @@
+package com.admin.modules.dashboard.repository;
+
+import com.admin.modules.dashboard.enums.TrendBucket;
+import com.admin.modules.dashboard.enums.TrendMetric;
+import com.admin.modules.dashboard.projection.BucketValue;
+import com.admin.modules.dashboard.projection.StatusCounts;
+import com.admin.modules.dashboard.projection.StockBuckets;
+import com.admin.modules.logistics.enums.ShippingStatus;
+import com.admin.modules.order.enums.OrderStatus;
+import com.admin.modules.product.enums.ProductStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 仪表盘聚合查询层：所有统计都在数据库端完成（COUNT / SUM / GROUP BY），
+ * 只返回少量投影结果，不把实体加载到内存。
+ */
+@Repository
+@RequiredArgsConstructor
+public class DashboardStatsRepository {
+
+    // 低库存阈值
+    public static final int LOW_STOCK_THRESHOLD = 10;
+
+    // 计入收入的订单状态
+    public static final Set<OrderStatus> REVENUE_STATUSES = EnumSet.of(OrderStatus.COMPLETED, OrderStatus.DELIVERED);
+
+    private final EntityManager entityManager;
+
+    public StatusCounts<ProductStatus> countProductsByStatus() {
+        return groupByStatus("SELECT p.status, COUNT(p) FROM Product p GROUP BY p.status", ProductStatus.class);
+    }
+
+    public StockBuckets countSkuStockBuckets() {
+        Object[] row = entityManager.createQuery(
+                        "SELECT COALESCE(SUM(CASE WHEN s.stock > 0 AND s.stock < :threshold THEN 1 ELSE 0 END), 0), " +
+                        "COALESCE(SUM(CASE WHEN s.stock <= 0 THEN 1 ELSE 0 END), 0) FROM Sku s", Object[].class)
+                .setParameter("threshold", LOW_STOCK_THRESHOLD)
+                .getSingleResult();
+        return new StockBuckets(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+    }
+
+    public StatusCounts<OrderStatus> countOrdersByStatus() {
+        return groupByStatus("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status", OrderStatus.class);
+    }
+
+    public long countOrdersSince(LocalDateTime since) {
+        return entityManager.createQuery("SELECT COUNT(o) FROM Order o WHERE o.createdAt >= :since", Long.class)
+                .setParameter("since", since)
+                .getSingleResult();
+    }
+
+    public BigDecimal sumRevenueSince(LocalDateTime since) {
+        return entityManager.createQuery(
+                        "SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o " +
+                        "WHERE o.createdAt >= :since AND o.status IN :statuses", BigDecimal.class)
+                .setParameter("since", since)
+                .setParameter("statuses", REVENUE_STATUSES)
+                .getSingleResult();
+    }
+
+    public long countUsersSince(LocalDateTime since) {
+        return entityManager.createQuery("SELECT COUNT(u) FROM User u WHERE u.createdAt >= :since", Long.class)
+                .setParameter("since", since)
+                .getSingleResult();
+    }
+
+    public long countOrderedUsers() {
+        return entityManager.createQuery("SELECT COUNT(DISTINCT o.userId) FROM Order o", Long.class)
+                .getSingleResult();
+    }
+
+    public long countSoldProducts() {
+        return entityManager.createQuery("SELECT COUNT(DISTINCT i.productId) FROM OrderItem i", Long.class)
+                .getSingleResult();
+    }
+
+    public StatusCounts<ShippingStatus> countShipmentsByStatus() {
+        return groupByStatus("SELECT s.status, COUNT(s) FROM ShippingOrder s GROUP BY s.status", ShippingStatus.class);
+    }
+
+    public Map<String, Long> findTopSellingProducts(int limit) {
+        Map<String, Long> ranking = new LinkedHashMap<>();
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT i.productName, SUM(i.quantity) FROM OrderItem i " +
+                        "GROUP BY i.productId, i.productName ORDER BY SUM(i.quantity) DESC", Object[].class)
+                .setMaxResults(limit)
+                .getResultList();
+        for (Object[] row : rows) {
+            ranking.putIfAbsent((String) row[0], ((Number) row[1]).longValue());
+        }
+        return ranking;
+    }
+
+    /**
+     * 按时间桶聚合指标，一个指标只需一次 date_trunc GROUP BY 查询
+     */
+    public List<BucketValue> aggregateByBucket(TrendMetric metric, TrendBucket bucket, LocalDateTime from) {
+        Query query;
+        switch (metric) {
+            case USERS:
+                query = entityManager.createNativeQuery(
+                        "SELECT date_trunc(:unit, u.created_at), COUNT(*) FROM users u " +
+                        "WHERE u.created_at >= :from GROUP BY 1");
+                break;
+            case ORDERS:
+                query = entityManager.createNativeQuery(
+                        "SELECT date_trunc(:unit, o.created_at), COUNT(*) FROM orders o " +
+                        "WHERE o.created_at >= :from GROUP BY 1");
+                break;
+            default:
+                query = entityManager.createNativeQuery(
+                        "SELECT date_trunc(:unit, o.created_at), COALESCE(SUM(o.total_amount), 0) FROM orders o " +
+                        "WHERE o.created_at >= :from AND o.status IN (:statuses) GROUP BY 1");
+                query.setParameter("statuses", REVENUE_STATUSES.stream().map(Enum::name).toList());
+        }
+        query.setParameter("unit", bucket.getSqlUnit());
+        query.setParameter("from", from);
+
+        List<BucketValue> values = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            values.add(new BucketValue(toLocalDateTime(columns[0]), toBigDecimal(columns[1])));
+        }
+        return values;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return BigDecimal.valueOf(((Number) value).longValue());
+    }
+
+    private <E extends Enum<E>> StatusCounts<E> groupByStatus(String jpql, Class<E> statusType) {
+        Map<E, Long> counts = new EnumMap<>(statusType);
+        for (Object[] row : entityManager.createQuery(jpql, Object[].class).getResultList()) {
+            if (row[0] != null) {
+                counts.put(statusType.cast(row[0]), ((Number) row[1]).longValue());
+            }
+        }
+        return new StatusCounts<>(counts);
+    }
+}
@@ -0,0 +1,85 @@
+package com.admin.modules.dashboard.service;
+
+import com.admin.common.datasource.ConnectionPool;
+import com.admin.modules.dashboard.repository.DailyStatsRepository;
+import com.admin.modules.dashboard.repository.DashboardStatsRepository;
+import com.admin.modules.order.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 按日汇总封存任务：启动时补齐历史，之后每天凌晨封存前一天。
+ * 封存后的日期只接受收入增量修正，不再重新计算。
+ */
+@ConnectionPool(ConnectionPool.BACKGROUND)
+@Component
+@RequiredArgsConstructor
+public class DailyStatsSealer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyStatsSealer.class);
+
+    private final DailyStatsRepository dailyStatsRepository;
+
+    // 启动时补齐；定时执行时留出几分钟让跨零点提交的事务落库后再封存
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.dashboard.rollup-seal-cron:0 5 0 * * *}")
+    @Transactional
+    public void sealFinishedDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        LocalDate orderFrom = nextDayToSeal(dailyStatsRepository.findLastSealedOrderDate(),
+                dailyStatsRepository.findFirstOrderDate());
+        if (orderFrom != null && !orderFrom.isAfter(yesterday)) {
+            int days = dailyStatsRepository.sealOrderDays(orderFrom, yesterday);
+            logger.info("Sealed {} day(s) of order stats from {} to {}", days, orderFrom, yesterday);
+        }
+
+        LocalDate userFrom = nextDayToSeal(dailyStatsRepository.findLastSealedUserDate(),
+                dailyStatsRepository.findFirstUserDate());
+        if (userFrom != null && !userFrom.isAfter(yesterday)) {
+            int days = dailyStatsRepository.sealUserDays(userFrom, yesterday);
+            logger.info("Sealed {} day(s) of user stats from {} to {}", days, userFrom, yesterday);
+        }
+    }
+
+    /**
+     * 订单在创建日之后进入或离开收入状态时，修正已封存日期的收入；
+     * 与订单更新在同一事务内提交，未封存的日期 UPDATE 不命中任何行，由实时查询覆盖。
+     * 事务监听器不能再声明 @Transactional，无事务发布时由 applyRevenueDelta 自行开启事务。
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.isCreation() || event.orderCreatedAt() == null || event.totalAmount() == null) {
+            return;
+        }
+        boolean wasRevenue = DashboardStatsRepository.REVENUE_STATUSES.contains(event.previousStatus());
+        boolean isRevenue = DashboardStatsRepository.REVENUE_STATUSES.contains(event.newStatus());
+        if (wasRevenue == isRevenue) {
+            return;
+        }
+
+        LocalDate statDate = event.orderCreatedAt().toLocalDate();
+        if (statDate.isBefore(LocalDate.now())) {
+            BigDecimal delta = isRevenue ? event.totalAmount() : event.totalAmount().negate();
+            dailyStatsRepository.applyRevenueDelta(statDate, delta);
+        }
+    }
+
+    private static LocalDate nextDayToSeal(LocalDate lastSealed, LocalDate firstRecord) {
+        if (lastSealed != null) {
+            return lastSealed.plusDays(1);
+        }
+        return firstRecord;
+    }
+}
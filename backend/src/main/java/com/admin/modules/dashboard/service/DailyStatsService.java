@@ -0,0 +1,80 @@
+package com.admin.modules.dashboard.service;
+
+import com.admin.common.datasource.ConnectionPool;
+import com.admin.modules.dashboard.enums.TrendBucket;
+import com.admin.modules.dashboard.enums.TrendMetric;
+import com.admin.modules.dashboard.projection.BucketValue;
+import com.admin.modules.dashboard.projection.OrderTotals;
+import com.admin.modules.dashboard.repository.DailyStatsRepository;
+import com.admin.modules.dashboard.repository.DashboardStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 历史窗口统计：已封存的日期读按日汇总表，尚未封存的日期（通常只有今天）实时查询，
+ * 查询成本只与窗口天数相关，与订单/用户总量无关。
+ */
+@ConnectionPool(ConnectionPool.REPORTING)
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DailyStatsService {
+
+    private final DailyStatsRepository dailyStatsRepository;
+    private final DashboardStatsRepository dashboardStatsRepository;
+
+    public OrderTotals orderTotalsSince(LocalDate from) {
+        LocalDate sealedThrough = dailyStatsRepository.findLastSealedOrderDate();
+        OrderTotals sealed = OrderTotals.EMPTY;
+        LocalDate liveFrom = from;
+        if (sealedThrough != null && !sealedThrough.isBefore(from)) {
+            sealed = dailyStatsRepository.sumOrderStats(from, sealedThrough);
+            liveFrom = sealedThrough.plusDays(1);
+        }
+
+        LocalDateTime liveStart = liveFrom.atStartOfDay();
+        OrderTotals live = new OrderTotals(
+                dashboardStatsRepository.countOrdersSince(liveStart),
+                dashboardStatsRepository.sumRevenueSince(liveStart));
+        return sealed.plus(live);
+    }
+
+    public long newUsersSince(LocalDate from) {
+        LocalDate sealedThrough = dailyStatsRepository.findLastSealedUserDate();
+        long sealed = 0;
+        LocalDate liveFrom = from;
+        if (sealedThrough != null && !sealedThrough.isBefore(from)) {
+            sealed = dailyStatsRepository.sumNewUsers(from, sealedThrough);
+            liveFrom = sealedThrough.plusDays(1);
+        }
+        return sealed + dashboardStatsRepository.countUsersSince(liveFrom.atStartOfDay());
+    }
+
+    /**
+     * 趋势桶聚合；小时粒度无法由日汇总得出，仍走实时查询。
+     * 同一个周桶可能同时包含封存日与实时日，调用方需按桶累加。
+     */
+    public List<BucketValue> aggregateByBucket(TrendMetric metric, TrendBucket bucket, LocalDateTime start) {
+        if (bucket == TrendBucket.HOUR) {
+            return dashboardStatsRepository.aggregateByBucket(metric, bucket, start);
+        }
+
+        LocalDate from = start.toLocalDate();
+        LocalDate sealedThrough = metric == TrendMetric.USERS
+                ? dailyStatsRepository.findLastSealedUserDate()
+                : dailyStatsRepository.findLastSealedOrderDate();
+        if (sealedThrough == null || sealedThrough.isBefore(from)) {
+            return dashboardStatsRepository.aggregateByBucket(metric, bucket, start);
+        }
+
+        List<BucketValue> values = new ArrayList<>(dailyStatsRepository.aggregateByBucket(metric, bucket, from, sealedThrough));
+        values.addAll(dashboardStatsRepository.aggregateByBucket(metric, bucket, sealedThrough.plusDays(1).atStartOfDay()));
+        return values;
+    }
+}
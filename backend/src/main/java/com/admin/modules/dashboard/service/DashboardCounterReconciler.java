@@ -0,0 +1,49 @@
+package com.admin.modules.dashboard.service;
+
+import com.admin.common.datasource.ConnectionPool;
+import com.admin.modules.auth.repository.UserRepository;
+import com.admin.modules.dashboard.repository.DashboardStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 仪表盘计数器对账任务：启动时初始化，之后定期用聚合查询结果修正计数偏差
+ */
+@ConnectionPool(ConnectionPool.BACKGROUND)
+@Component
+@RequiredArgsConstructor
+public class DashboardCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounterReconciler.class);
+
+    private final DashboardCounters dashboardCounters;
+    private final DashboardStatsRepository dashboardStatsRepository;
+    private final UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.counter-reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.counter-reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long usersBefore = dashboardCounters.totalUsers();
+        long ordersBefore = dashboardCounters.totalOrders();
+
+        dashboardCounters.reconcile(
+                userRepository.count(),
+                dashboardStatsRepository.countOrdersByStatus(),
+                dashboardStatsRepository.countShipmentsByStatus(),
+                dashboardStatsRepository.countSkuStockBuckets());
+
+        logger.debug("Dashboard counters reconciled, user drift: {}, order drift: {}",
+                dashboardCounters.totalUsers() - usersBefore,
+                dashboardCounters.totalOrders() - ordersBefore);
+    }
+}
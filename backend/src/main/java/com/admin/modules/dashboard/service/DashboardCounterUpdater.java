@@ -0,0 +1,39 @@
+package com.admin.modules.dashboard.service;
+
+import com.admin.modules.auth.event.UserRegisteredEvent;
+import com.admin.modules.logistics.event.ShippingStatusChangedEvent;
+import com.admin.modules.order.event.OrderStatusChangedEvent;
+import com.admin.modules.product.event.StockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 监听各模块的领域事件，在事务提交后更新仪表盘计数器
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCounterUpdater {
+
+    private final DashboardCounters dashboardCounters;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        dashboardCounters.userRegistered();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        dashboardCounters.orderStatusChanged(event.previousStatus(), event.newStatus());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShippingStatusChanged(ShippingStatusChangedEvent event) {
+        dashboardCounters.shipmentStatusChanged(event.previousStatus(), event.newStatus());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        dashboardCounters.stockChanged(event.previousStock(), event.newStock());
+    }
+}
@@ -0,0 +1,140 @@
+package com.admin.modules.dashboard.service;
+
+import com.admin.modules.dashboard.projection.StatusCounts;
+import com.admin.modules.dashboard.projection.StockBuckets;
+import com.admin.modules.dashboard.repository.DashboardStatsRepository;
+import com.admin.modules.logistics.enums.ShippingStatus;
+import com.admin.modules.order.enums.OrderStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 仪表盘实时计数器：由各写路径的领域事件增量维护，读取为 O(1)。
+ * 计数可能因进程重启或事件丢失产生偏差，由 {@link DashboardCounterReconciler} 定期与数据库对账修正。
+ */
+@Component
+public class DashboardCounters {
+
+    private final LongAdder totalUsers = new LongAdder();
+    private final Map<OrderStatus, LongAdder> ordersByStatus = createAdders(OrderStatus.class);
+    private final Map<ShippingStatus, LongAdder> shipmentsByStatus = createAdders(ShippingStatus.class);
+    private final LongAdder lowStockSkus = new LongAdder();
+    private final LongAdder outOfStockSkus = new LongAdder();
+
+    private volatile LocalDateTime lastReconciledAt;
+
+    public void userRegistered() {
+        totalUsers.increment();
+    }
+
+    public void orderStatusChanged(OrderStatus previousStatus, OrderStatus newStatus) {
+        if (previousStatus == newStatus) {
+            return;
+        }
+        if (previousStatus != null) {
+            ordersByStatus.get(previousStatus).decrement();
+        }
+        if (newStatus != null) {
+            ordersByStatus.get(newStatus).increment();
+        }
+    }
+
+    public void shipmentStatusChanged(ShippingStatus previousStatus, ShippingStatus newStatus) {
+        if (previousStatus == newStatus) {
+            return;
+        }
+        if (previousStatus != null) {
+            shipmentsByStatus.get(previousStatus).decrement();
+        }
+        if (newStatus != null) {
+            shipmentsByStatus.get(newStatus).increment();
+        }
+    }
+
+    public void stockChanged(Integer previousStock, Integer newStock) {
+        adjustStockBucket(previousStock, -1);
+        adjustStockBucket(newStock, 1);
+    }
+
+    public long totalUsers() {
+        return totalUsers.sum();
+    }
+
+    public long totalOrders() {
+        return sum(ordersByStatus);
+    }
+
+    public long orders(OrderStatus status) {
+        return ordersByStatus.get(status).sum();
+    }
+
+    public long totalShipments() {
+        return sum(shipmentsByStatus);
+    }
+
+    public long shipments(ShippingStatus status) {
+        return shipmentsByStatus.get(status).sum();
+    }
+
+    public long lowStockSkus() {
+        return lowStockSkus.sum();
+    }
+
+    public long outOfStockSkus() {
+        return outOfStockSkus.sum();
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    /**
+     * 用数据库中的真实值覆盖当前计数
+     */
+    void reconcile(long users, StatusCounts<OrderStatus> orders, StatusCounts<ShippingStatus> shipments,
+                   StockBuckets stockBuckets) {
+        overwrite(totalUsers, users);
+        ordersByStatus.forEach((status, adder) -> overwrite(adder, orders.get(status)));
+        shipmentsByStatus.forEach((status, adder) -> overwrite(adder, shipments.get(status)));
+        overwrite(lowStockSkus, stockBuckets.lowStock());
+        overwrite(outOfStockSkus, stockBuckets.outOfStock());
+        lastReconciledAt = LocalDateTime.now();
+    }
+
+    private void adjustStockBucket(Integer stock, int delta) {
+        if (stock == null) {
+            return;
+        }
+        if (stock <= 0) {
+            outOfStockSkus.add(delta);
+        } else if (stock < DashboardStatsRepository.LOW_STOCK_THRESHOLD) {
+            lowStockSkus.add(delta);
+        }
+    }
+
+    private static void overwrite(LongAdder adder, long value) {
+        // 对账期间并发的增量可能被覆盖，偏差会在下一轮对账时修正
+        adder.add(value - adder.sum());
+    }
+
+    private static long sum(Map<?, LongAdder> adders) {
+        long total = 0;
+        for (LongAdder adder : adders.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    private static <E extends Enum<E>> Map<E, LongAdder> createAdders(Class<E> type) {
+        Map<E, LongAdder> adders = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            adders.put(constant, new LongAdder());
+        }
+        return Collections.unmodifiableMap(adders);
+    }
+}
@@ -1,147 +1,280 @@
 package com.admin.modules.dashboard.service;
 
-import com.admin.modules.auth.entity.User;
+import com.admin.common.datasource.ConnectionPool;
+import com.admin.common.datasource.ConnectionPoolContext;
 import com.admin.modules.auth.repository.UserRepository;
 import com.admin.modules.dashboard.dto.DashboardStatsDto;
-import com.admin.modules.logistics.entity.ShippingOrder;
+import com.admin.modules.dashboard.dto.TrendSeriesDto;
+import com.admin.modules.dashboard.enums.DashboardSection;
+import com.admin.modules.dashboard.enums.TrendBucket;
+import com.admin.modules.dashboard.enums.TrendMetric;
+import com.admin.modules.dashboard.projection.OrderTotals;
+import com.admin.modules.dashboard.projection.StatusCounts;
+import com.admin.modules.dashboard.repository.DashboardStatsRepository;
 import com.admin.modules.logistics.enums.ShippingStatus;
-import com.admin.modules.logistics.repository.ShippingOrderRepository;
-import com.admin.modules.order.entity.Order;
-import com.admin.modules.order.enums.OrderStatus;
-import com.admin.modules.order.repository.OrderRepository;
-import com.admin.modules.product.entity.Product;
-import com.admin.modules.product.entity.Sku;
 import com.admin.modules.product.enums.ProductStatus;
-import com.admin.modules.product.repository.ProductRepository;
-import com.admin.modules.product.repository.SkuRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.beans.PropertyDescriptor;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * 仪表盘统计：六个分区在虚拟线程上并行计算，每个分区有独立超时。
+ * 超时或失败的分区返回上一次成功的结果并在 staleSections 中标出，不拖慢整个响应；
+ * 超时的计算仍会在后台完成并刷新该分区的缓存，期间的请求复用这次计算，每个分区最多一个在途计算。
+ * 每个分区在自己的只读事务中计算，启用读写分离时落到副本上。
+ */
+@ConnectionPool(ConnectionPool.REPORTING)
 @Service
-@RequiredArgsConstructor
 public class DashboardService {
     
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+    
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
-    private final SkuRepository skuRepository;
-    private final OrderRepository orderRepository;
-    private final ShippingOrderRepository shippingOrderRepository;
+    private final DashboardStatsRepository dashboardStatsRepository;
+    private final DashboardCounters dashboardCounters;
+    private final DashboardTrendService dashboardTrendService;
+    private final DailyStatsService dailyStatsService;
+    private final Duration sectionTimeout;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    private final ExecutorService sectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // 各分区最近一次成功的结果，只包含该分区的字段
+    private final Map<DashboardSection, DashboardStatsDto> lastSections = new ConcurrentHashMap<>();
+    // 各分区正在进行的计算，完成后移除
+    private final Map<DashboardSection, CompletableFuture<DashboardStatsDto>> inFlight = new ConcurrentHashMap<>();
+    
+    public DashboardService(UserRepository userRepository,
+                            DashboardStatsRepository dashboardStatsRepository,
+                            DashboardCounters dashboardCounters,
+                            DashboardTrendService dashboardTrendService,
+                            DailyStatsService dailyStatsService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.dashboard.section-timeout:2s}") Duration sectionTimeout) {
+        this.userRepository = userRepository;
+        this.dashboardStatsRepository = dashboardStatsRepository;
+        this.dashboardCounters = dashboardCounters;
+        this.dashboardTrendService = dashboardTrendService;
+        this.dailyStatsService = dailyStatsService;
+        this.sectionTimeout = sectionTimeout;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
     
     public DashboardStatsDto getDashboardStats() {
-        DashboardStatsDto stats = new DashboardStatsDto();
-        
-        // 用户统计
-        calculateUserStats(stats);
-        
-        // 商品统计
-        calculateProductStats(stats);
-        
-        // 订单统计
-        calculateOrderStats(stats);
+        Map<DashboardSection, CompletableFuture<DashboardStatsDto>> sections = new EnumMap<>(DashboardSection.class);
+        for (DashboardSection section : DashboardSection.values()) {
+            sections.put(section, computeSection(section));
+        }
         
-        // 转化率计算
-        calculateConversionRates(stats);
+        DashboardStatsDto stats = new DashboardStatsDto();
+        List<DashboardSection> staleSections = new ArrayList<>();
+        sections.forEach((section, future) -> {
+            DashboardStatsDto fragment = future.join();
+            if (fragment == null) {
+                staleSections.add(section);
+                fragment = lastSections.get(section);
+            }
+            if (fragment != null) {
+                merge(fragment, stats);
+            }
+        });
+        
+        stats.setStaleSections(staleSections);
+        stats.setLastUpdated(LocalDateTime.now());
         
-        // 物流统计
-        calculateLogisticsStats(stats);
+        return stats;
+    }
+    
+    /**
+     * 实时统计：只读取增量维护的计数器，不访问数据库
+     */
+    public DashboardStatsDto getRealtimeStats() {
+        DashboardStatsDto stats = new DashboardStatsDto();
         
-        // 趋势数据
-        calculateTrendData(stats);
+        stats.setTotalUsers(dashboardCounters.totalUsers());
+        stats.setTotalOrders(dashboardCounters.totalOrders());
+        stats.setLowStockProducts(dashboardCounters.lowStockSkus());
+        stats.setOutOfStockProducts(dashboardCounters.outOfStockSkus());
+        applyShipmentCounters(stats);
         
         stats.setLastUpdated(LocalDateTime.now());
         
         return stats;
     }
     
+    @PreDestroy
+    public void shutdown() {
+        sectionExecutor.shutdownNow();
+    }
+    
+    /**
+     * @return 按时算出的分区结果；超时或失败时为 null
+     */
+    private CompletableFuture<DashboardStatsDto> computeSection(DashboardSection section) {
+        // 超时只影响本次响应：在副本上计时，共享的计算继续执行并在完成后刷新缓存
+        return inFlightComputation(section).copy()
+                .orTimeout(sectionTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        logger.warn("Dashboard section {} timed out after {}, serving last result", section, sectionTimeout);
+                    } else {
+                        logger.warn("Dashboard section {} failed, serving last result", section, cause);
+                    }
+                    return null;
+                });
+    }
+    
+    /**
+     * 分区已有在途计算时直接复用，避免超时的慢查询在每次请求时再叠加一份
+     */
+    private CompletableFuture<DashboardStatsDto> inFlightComputation(DashboardSection section) {
+        CompletableFuture<DashboardStatsDto> created = new CompletableFuture<>();
+        CompletableFuture<DashboardStatsDto> running = inFlight.putIfAbsent(section, created);
+        if (running != null) {
+            return running;
+        }
+        // 带上 @ConnectionPool 的选择，分区查询仍走报表连接池；虚拟线程上没有调用方的事务，单独开只读事务
+        CompletableFuture.supplyAsync(
+                        ConnectionPoolContext.propagate(() -> {
+                            DashboardStatsDto fragment = readOnlyTransaction.execute(status -> calculate(section));
+                            lastSections.put(section, fragment);
+                            return fragment;
+                        }), sectionExecutor)
+                .whenComplete((fragment, error) -> {
+                    inFlight.remove(section, created);
+                    if (error != null) {
+                        created.completeExceptionally(error);
+                    } else {
+                        created.complete(fragment);
+                    }
+                });
+        return created;
+    }
+    
+    private DashboardStatsDto calculate(DashboardSection section) {
+        DashboardStatsDto fragment = new DashboardStatsDto();
+        switch (section) {
+            case USERS -> calculateUserStats(fragment);
+            case PRODUCTS -> calculateProductStats(fragment);
+            case ORDERS -> calculateOrderStats(fragment);
+            case CONVERSION -> calculateConversionRates(fragment);
+            case LOGISTICS -> calculateLogisticsStats(fragment);
+            case TRENDS -> calculateTrendData(fragment);
+        }
+        return fragment;
+    }
+    
+    /**
+     * 把分区结果中已赋值的字段复制到响应中，各分区的字段互不重叠
+     */
+    private static void merge(DashboardStatsDto fragment, DashboardStatsDto stats) {
+        BeanWrapper source = new BeanWrapperImpl(fragment);
+        BeanWrapper target = new BeanWrapperImpl(stats);
+        for (PropertyDescriptor property : source.getPropertyDescriptors()) {
+            if (property.getWriteMethod() == null) {
+                continue;
+            }
+            Object value = source.getPropertyValue(property.getName());
+            if (value != null) {
+                target.setPropertyValue(property.getName(), value);
+            }
+        }
+    }
+    
     private void calculateUserStats(DashboardStatsDto stats) {
-        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-        LocalDateTime weekStart = LocalDate.now().minusDays(7).atStartOfDay();
-        LocalDateTime monthStart = LocalDate.now().minusDays(30).atStartOfDay();
+        LocalDate today = LocalDate.now();
+        LocalDateTime todayStart = today.atStartOfDay();
         
         // 总用户数
-        stats.setTotalUsers(userRepository.count());
+        stats.setTotalUsers(dashboardCounters.totalUsers());
         
         // 今日活跃用户（假设有最后登录时间字段）
         stats.setActiveUsersToday(userRepository.countByLastLoginTimeAfter(todayStart));
         
         // 今日新用户
-        stats.setNewUsersToday(userRepository.countByCreatedAtAfter(todayStart));
+        stats.setNewUsersToday(dashboardStatsRepository.countUsersSince(todayStart));
         
         // 本周新用户
-        stats.setNewUsersThisWeek(userRepository.countByCreatedAtAfter(weekStart));
+        stats.setNewUsersThisWeek(dailyStatsService.newUsersSince(today.minusDays(7)));
         
         // 本月新用户
-        stats.setNewUsersThisMonth(userRepository.countByCreatedAtAfter(monthStart));
+        stats.setNewUsersThisMonth(dailyStatsService.newUsersSince(today.minusDays(30)));
     }
     
     private void calculateProductStats(DashboardStatsDto stats) {
-        List<Product> allProducts = productRepository.findAll();
-        List<Sku> allSkus = skuRepository.findAll();
+        StatusCounts<ProductStatus> productCounts = dashboardStatsRepository.countProductsByStatus();
         
         // 总商品数
-        stats.setTotalProducts((long) allProducts.size());
+        stats.setTotalProducts(productCounts.total());
         
         // 活跃商品数（上架状态）
-        stats.setActiveProducts(allProducts.stream()
-                .filter(p -> p.getStatus() == ProductStatus.ACTIVE)
-                .count());
+        stats.setActiveProducts(productCounts.get(ProductStatus.ACTIVE));
         
         // 低库存商品（库存<10）
-        stats.setLowStockProducts(allSkus.stream()
-                .filter(s -> s.getStock() != null && s.getStock() < 10 && s.getStock() > 0)
-                .count());
+        stats.setLowStockProducts(dashboardCounters.lowStockSkus());
         
         // 缺货商品
-        stats.setOutOfStockProducts(allSkus.stream()
-                .filter(s -> s.getStock() != null && s.getStock() <= 0)
-                .count());
+        stats.setOutOfStockProducts(dashboardCounters.outOfStockSkus());
     }
     
     private void calculateOrderStats(DashboardStatsDto stats) {
-        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-        LocalDateTime weekStart = LocalDate.now().minusDays(7).atStartOfDay();
-        LocalDateTime monthStart = LocalDate.now().minusDays(30).atStartOfDay();
-        
-        List<Order> allOrders = orderRepository.findAll();
+        LocalDate today = LocalDate.now();
+        OrderTotals todayTotals = dailyStatsService.orderTotalsSince(today);
+        OrderTotals weekTotals = dailyStatsService.orderTotalsSince(today.minusDays(7));
+        OrderTotals monthTotals = dailyStatsService.orderTotalsSince(today.minusDays(30));
         
         // 总订单数
-        stats.setTotalOrders((long) allOrders.size());
+        stats.setTotalOrders(dashboardCounters.totalOrders());
         
         // 今日订单
-        stats.setOrdersToday(orderRepository.countByCreatedAtAfter(todayStart));
+        stats.setOrdersToday(todayTotals.orderCount());
         
         // 本周订单
-        stats.setOrdersThisWeek(orderRepository.countByCreatedAtAfter(weekStart));
+        stats.setOrdersThisWeek(weekTotals.orderCount());
         
         // 本月订单
-        stats.setOrdersThisMonth(orderRepository.countByCreatedAtAfter(monthStart));
+        stats.setOrdersThisMonth(monthTotals.orderCount());
         
         // 今日收入
-        stats.setRevenueToday(calculateRevenue(orderRepository.findByCreatedAtAfter(todayStart)));
+        stats.setRevenueToday(todayTotals.revenue());
         
         // 本周收入
-        stats.setRevenueThisWeek(calculateRevenue(orderRepository.findByCreatedAtAfter(weekStart)));
+        stats.setRevenueThisWeek(weekTotals.revenue());
         
         // 本月收入
-        stats.setRevenueThisMonth(calculateRevenue(orderRepository.findByCreatedAtAfter(monthStart)));
+        stats.setRevenueThisMonth(monthTotals.revenue());
     }
     
     private void calculateConversionRates(DashboardStatsDto stats) {
-        long totalUsers = stats.getTotalUsers();
-        long totalOrders = stats.getTotalOrders();
-        long totalProducts = stats.getTotalProducts();
+        // 与其他分区并行计算，自行读取总量
+        long totalUsers = dashboardCounters.totalUsers();
+        long totalProducts = dashboardStatsRepository.countProductsByStatus().total();
         
         // 订单转化率 = 下单用户数 / 总用户数
         if (totalUsers > 0) {
-            long orderedUsers = orderRepository.findDistinctUserIds().size();
+            long orderedUsers = dashboardStatsRepository.countOrderedUsers();
             BigDecimal orderConversionRate = BigDecimal.valueOf(orderedUsers)
                     .divide(BigDecimal.valueOf(totalUsers), 4, RoundingMode.HALF_UP)
                     .multiply(BigDecimal.valueOf(100));
@@ -152,8 +285,7 @@ public class DashboardService {
         
         // 商品转化率 = 有销量的商品数 / 总商品数
         if (totalProducts > 0) {
-            List<Long> soldProductIds = orderRepository.findSoldProductIds();
-            long soldProducts = soldProductIds.stream().distinct().count();
+            long soldProducts = dashboardStatsRepository.countSoldProducts();
             BigDecimal productConversionRate = BigDecimal.valueOf(soldProducts)
                     .divide(BigDecimal.valueOf(totalProducts), 4, RoundingMode.HALF_UP)
                     .multiply(BigDecimal.valueOf(100));
@@ -176,79 +308,48 @@ public class DashboardService {
     }
     
     private void calculateLogisticsStats(DashboardStatsDto stats) {
-        List<ShippingOrder> allShipments = shippingOrderRepository.findAll();
-        
+        applyShipmentCounters(stats);
+    }
+    
+    private void applyShipmentCounters(DashboardStatsDto stats) {
         // 总运单数
-        stats.setTotalShipments((long) allShipments.size());
+        stats.setTotalShipments(dashboardCounters.totalShipments());
         
         // 待发货
-        stats.setPendingShipments(allShipments.stream()
-                .filter(s -> s.getStatus() == ShippingStatus.PENDING || s.getStatus() == ShippingStatus.PROCESSING)
-                .count());
+        stats.setPendingShipments(dashboardCounters.shipments(ShippingStatus.PENDING)
+                + dashboardCounters.shipments(ShippingStatus.PROCESSING));
         
         // 已送达
-        stats.setDeliveredShipments(allShipments.stream()
-                .filter(s -> s.getStatus() == ShippingStatus.DELIVERED)
-                .count());
+        stats.setDeliveredShipments(dashboardCounters.shipments(ShippingStatus.DELIVERED));
         
         // 已退回
-        stats.setReturnedShipments(allShipments.stream()
-                .filter(s -> s.getStatus() == ShippingStatus.RETURNED)
-                .count());
+        stats.setReturnedShipments(dashboardCounters.shipments(ShippingStatus.RETURNED));
     }
     
     private void calculateTrendData(DashboardStatsDto stats) {
         // 用户增长趋势（最近7天）
-        Map<String, Long> userGrowthTrend = new LinkedHashMap<>();
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-            long count = userRepository.countByCreatedAtBetween(startOfDay, endOfDay);
-            userGrowthTrend.put(date.toString(), count);
-        }
-        stats.setUserGrowthTrend(userGrowthTrend);
+        stats.setUserGrowthTrend(toCountMap(dashboardTrendService.getTrend(TrendMetric.USERS, TrendBucket.DAY, 7)));
         
         // 收入趋势（最近7天）
+        TrendSeriesDto revenueSeries = dashboardTrendService.getTrend(TrendMetric.REVENUE, TrendBucket.DAY, 7);
         Map<String, BigDecimal> revenueTrend = new LinkedHashMap<>();
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-            List<Order> dailyOrders = orderRepository.findByCreatedAtBetween(startOfDay, endOfDay);
-            BigDecimal dailyRevenue = calculateRevenue(dailyOrders);
-            revenueTrend.put(date.toString(), dailyRevenue);
+        for (int i = 0; i < revenueSeries.getLabels().length; i++) {
+            revenueTrend.put(revenueSeries.getLabels()[i], revenueSeries.getValues()[i]);
         }
         stats.setRevenueTrend(revenueTrend);
         
         // 订单趋势（最近7天）
-        Map<String, Long> orderTrend = new LinkedHashMap<>();
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-            long count = orderRepository.countByCreatedAtBetween(startOfDay, endOfDay);
-            orderTrend.put(date.toString(), count);
-        }
-        stats.setOrderTrend(orderTrend);
+        stats.setOrderTrend(toCountMap(dashboardTrendService.getTrend(TrendMetric.ORDERS, TrendBucket.DAY, 7)));
         
         // 商品销量排行（前10）
-        Map<String, Long> productSalesRanking = orderRepository.findProductSalesRanking()
-                .stream()
-                .limit(10)
-                .collect(Collectors.toMap(
-                        entry -> entry.get("productName").toString(),
-                        entry -> Long.valueOf(entry.get("salesCount").toString()),
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
-        stats.setProductSalesRanking(productSalesRanking);
-    }
-    
-    private BigDecimal calculateRevenue(List<Order> orders) {
-        return orders.stream()
-                .filter(order -> order.getStatus() == OrderStatus.COMPLETED || order.getStatus() == OrderStatus.DELIVERED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-}
\ No newline at end of file
+        stats.setProductSalesRanking(dashboardStatsRepository.findTopSellingProducts(10));
+    }
+    
+    private Map<String, Long> toCountMap(TrendSeriesDto series) {
+        Map<String, Long> trend = new LinkedHashMap<>();
+        for (int i = 0; i < series.getLabels().length; i++) {
+            trend.put(series.getLabels()[i], series.getValues()[i].longValue());
+        }
+        return trend;
+    }
+}
@@ -0,0 +1,64 @@
+package com.admin.modules.dashboard.service;
+
+import com.admin.common.datasource.ConnectionPool;
+import com.admin.common.exception.BadRequestException;
+import com.admin.modules.dashboard.dto.TrendSeriesDto;
+import com.admin.modules.dashboard.enums.TrendBucket;
+import com.admin.modules.dashboard.enums.TrendMetric;
+import com.admin.modules.dashboard.projection.BucketValue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 时间桶趋势引擎：每个指标一次 GROUP BY 查询（日/周粒度优先读按日汇总表），
+ * 结果按桶下标累加到预分配数组，空桶补 0
+ */
+@ConnectionPool(ConnectionPool.REPORTING)
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardTrendService {
+
+    private static final int MAX_DAYS = 366;
+
+    private final DailyStatsService dailyStatsService;
+
+    public TrendSeriesDto getTrend(TrendMetric metric, TrendBucket bucket, int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BadRequestException("统计天数必须在1到" + MAX_DAYS + "之间");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = bucket.truncate(LocalDate.now().minusDays(days - 1).atStartOfDay());
+        int size = bucket.indexOf(start, now) + 1;
+
+        String[] labels = new String[size];
+        for (int i = 0; i < size; i++) {
+            labels[i] = bucket.label(bucket.plus(start, i));
+        }
+
+        BigDecimal[] values = new BigDecimal[size];
+        Arrays.fill(values, BigDecimal.ZERO);
+        for (BucketValue bucketValue : dailyStatsService.aggregateByBucket(metric, bucket, start)) {
+            int index = bucket.indexOf(start, bucketValue.bucketStart());
+            if (index >= 0 && index < size) {
+                values[index] = values[index].add(bucketValue.value());
+            }
+        }
+
+        TrendSeriesDto series = new TrendSeriesDto();
+        series.setMetric(metric.name());
+        series.setBucket(bucket.name());
+        series.setFrom(start);
+        series.setTo(now);
+        series.setLabels(labels);
+        series.setValues(values);
+        return series;
+    }
+}
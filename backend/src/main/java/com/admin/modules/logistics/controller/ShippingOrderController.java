@@ -1,5 +1,7 @@
 package com.admin.modules.logistics.controller;
 
+import com.admin.common.pagination.CursorPage;
+import com.admin.common.pagination.CursorPageRequest;
 import com.admin.modules.logistics.dto.ShippingOrderCreateRequest;
 import com.admin.modules.logistics.dto.ShippingOrderDto;
 import com.admin.modules.logistics.dto.ShippingTrackDto;
@@ -66,6 +68,17 @@ public class ShippingOrderController {
         return ResponseEntity.ok(shippingOrders);
     }
     
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('LOGISTICS_MANAGER')")
+    public ResponseEntity<CursorPage<ShippingOrderDto>> getAllShippingOrdersAfter(
+            @RequestParam String after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<ShippingOrderDto> shippingOrders =
+                shippingOrderService.getAllShippingOrders(CursorPageRequest.of(after, size, includeTotal));
+        return ResponseEntity.ok(shippingOrders);
+    }
+    
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('LOGISTICS_MANAGER')")
     public ResponseEntity<ShippingOrderDto> updateShippingStatus(
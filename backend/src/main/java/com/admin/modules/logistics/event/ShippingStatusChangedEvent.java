@@ -0,0 +1,11 @@
+package com.admin.modules.logistics.event;
+
+import com.admin.modules.logistics.enums.ShippingStatus;
+
+/**
+ * 运单状态变更事件，previousStatus 为 null 表示新建运单
+ */
+public record ShippingStatusChangedEvent(Long shippingOrderId,
+                                         ShippingStatus previousStatus,
+                                         ShippingStatus newStatus) {
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +31,17 @@ public interface ShippingOrderRepository extends JpaRepository<ShippingOrder, Lo
            "LOWER(s.receiverName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(s.receiverPhone) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<ShippingOrder> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    /**
+     * 键集分页第一页：按 (created_at, id) 倒序
+     */
+    @Query("SELECT s FROM ShippingOrder s ORDER BY s.createdAt DESC, s.id DESC")
+    List<ShippingOrder> findFirstPage(Pageable pageable);
+    
+    /**
+     * 键集分页：从游标之后继续，走 (created_at, id) 复合索引，不需要 OFFSET
+     */
+    @Query("SELECT s FROM ShippingOrder s WHERE (s.createdAt, s.id) < (:createdAt, :id) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<ShippingOrder> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.admin.modules.logistics.service;
 
 import com.admin.common.exception.ResourceNotFoundException;
+import com.admin.common.id.IdGenerator;
+import com.admin.common.pagination.Cursor;
+import com.admin.common.pagination.CursorPage;
+import com.admin.common.pagination.CursorPageRequest;
+import com.admin.common.pagination.RowCountEstimator;
 import com.admin.modules.logistics.dto.CarrierDto;
 import com.admin.modules.logistics.dto.ShippingOrderCreateRequest;
 import com.admin.modules.logistics.dto.ShippingOrderDto;
@@ -9,10 +14,12 @@ import com.admin.modules.logistics.entity.Carrier;
 import com.admin.modules.logistics.entity.ShippingOrder;
 import com.admin.modules.logistics.entity.ShippingTrack;
 import com.admin.modules.logistics.enums.ShippingStatus;
+import com.admin.modules.logistics.event.ShippingStatusChangedEvent;
 import com.admin.modules.logistics.repository.CarrierRepository;
 import com.admin.modules.logistics.repository.ShippingOrderRepository;
 import com.admin.modules.logistics.repository.ShippingTrackRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,7 +28,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +38,9 @@ public class ShippingOrderService {
     private final ShippingOrderRepository shippingOrderRepository;
     private final ShippingTrackRepository shippingTrackRepository;
     private final CarrierRepository carrierRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
+    private final RowCountEstimator rowCountEstimator;
     
     public ShippingOrderDto createShippingOrder(ShippingOrderCreateRequest request) {
         ShippingOrder shippingOrder = new ShippingOrder();
@@ -80,6 +89,8 @@ public class ShippingOrderService {
         // 创建初始跟踪记录
         createInitialTrack(shippingOrder);
         
+        eventPublisher.publishEvent(new ShippingStatusChangedEvent(shippingOrder.getId(), null, shippingOrder.getStatus()));
+        
         return convertToDto(shippingOrder);
     }
     
@@ -117,10 +128,23 @@ public class ShippingOrderService {
                 .map(this::convertToDto);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<ShippingOrderDto> getAllShippingOrders(CursorPageRequest pageRequest) {
+        Cursor after = pageRequest.after();
+        List<ShippingOrder> rows = pageRequest.isFirstPage()
+                ? shippingOrderRepository.findFirstPage(pageRequest.limit())
+                : shippingOrderRepository.findPageAfter(after.createdAt(), after.id(), pageRequest.limit());
+        return CursorPage.of(rows, pageRequest.size(),
+                shippingOrder -> new Cursor(shippingOrder.getCreatedAt(), shippingOrder.getId()),
+                shippingOrders -> shippingOrders.stream().map(this::convertToDto).collect(Collectors.toList()),
+                pageRequest.includeTotal() ? rowCountEstimator.estimate("shipping_orders") : null);
+    }
+    
     public ShippingOrderDto updateShippingStatus(Long id, ShippingStatus status, String notes) {
         ShippingOrder shippingOrder = shippingOrderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("运单不存在"));
         
+        ShippingStatus previousStatus = shippingOrder.getStatus();
         shippingOrder.setStatus(status);
         
         // 设置相应时间
@@ -139,6 +163,8 @@ public class ShippingOrderService {
         // 添加跟踪记录
         createTrackRecord(shippingOrder, status, notes);
         
+        eventPublisher.publishEvent(new ShippingStatusChangedEvent(shippingOrder.getId(), previousStatus, status));
+        
         return convertToDto(shippingOrder);
     }
     
@@ -160,7 +186,7 @@ public class ShippingOrderService {
     }
     
     private String generateTrackingNumber() {
-        return "TRK" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 4).toUpperCase();
+        return idGenerator.nextNumber("TRK");
     }
     
     private BigDecimal calculateShippingFee(Carrier carrier, BigDecimal weight, BigDecimal volume) {
@@ -1,8 +1,11 @@
 package com.admin.modules.order.controller;
 
+import com.admin.common.pagination.CursorPage;
+import com.admin.common.pagination.CursorPageRequest;
 import com.admin.common.security.service.UserDetailsImpl;
 import com.admin.modules.order.dto.OrderCreateRequest;
 import com.admin.modules.order.dto.OrderDto;
+import com.admin.modules.order.dto.OrderListItemDto;
 import com.admin.modules.order.enums.OrderStatus;
 import com.admin.modules.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -58,9 +61,20 @@ public class OrderController {
     @GetMapping
     @Operation(summary = "获取所有订单（管理员）")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<OrderDto>> getAllOrders(
+    public ResponseEntity<Page<OrderListItemDto>> getAllOrders(
             @PageableDefault(size = 10) Pageable pageable) {
-        Page<OrderDto> orders = orderService.getAllOrders(pageable);
+        Page<OrderListItemDto> orders = orderService.getAllOrders(pageable);
+        return ResponseEntity.ok(orders);
+    }
+    
+    @GetMapping(params = "after")
+    @Operation(summary = "按游标获取所有订单（管理员）", description = "after 为空时返回第一页，之后传入上一页的 nextCursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<OrderListItemDto>> getAllOrdersAfter(
+            @RequestParam String after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<OrderListItemDto> orders = orderService.getAllOrders(CursorPageRequest.of(after, size, includeTotal));
         return ResponseEntity.ok(orders);
     }
     
@@ -0,0 +1,31 @@
+package com.admin.modules.order.dto;
+
+import com.admin.modules.order.enums.OrderStatus;
+import com.admin.modules.order.enums.PaymentStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 管理端订单列表行，明细通过订单详情接口获取
+ */
+@Data
+public class OrderListItemDto {
+    private Long id;
+    private String orderNumber;
+    private Long userId;
+    private String userName;
+    private Integer itemCount;
+    private String firstProductName;
+    private BigDecimal totalAmount;
+    private BigDecimal payableAmount;
+    private OrderStatus status;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime paidAt;
+    private LocalDateTime shippedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime cancelledAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
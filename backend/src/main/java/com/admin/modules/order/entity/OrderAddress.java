@@ -9,7 +9,8 @@ import lombok.Data;
 public class OrderAddress {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_addresses_seq")
+    @SequenceGenerator(name = "order_addresses_seq", sequenceName = "order_addresses_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,58 @@
+package com.admin.modules.order.entity;
+
+import com.admin.modules.order.enums.OrderStatus;
+import com.admin.modules.order.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 管理端订单列表读模型，只读；由 OrderListViewWriter 随订单写操作维护
+ */
+@Entity
+@Immutable
+@Table(name = "order_list_view")
+@Getter
+public class OrderListView {
+    
+    @Id
+    @Column(name = "order_id")
+    private Long id;
+    
+    private String orderNumber;
+    
+    private Long userId;
+    
+    private String userName;
+    
+    private Integer itemCount;
+    
+    private String firstProductName;
+    
+    private BigDecimal totalAmount;
+    
+    private BigDecimal payableAmount;
+    
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+    
+    private LocalDateTime paidAt;
+    
+    private LocalDateTime shippedAt;
+    
+    private LocalDateTime completedAt;
+    
+    private LocalDateTime cancelledAt;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+    private Boolean isDeleted;
+}
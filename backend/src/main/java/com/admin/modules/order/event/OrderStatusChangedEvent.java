@@ -0,0 +1,20 @@
+package com.admin.modules.order.event;
+
+import com.admin.modules.order.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 订单状态变更事件，previousStatus 为 null 表示新建订单
+ */
+public record OrderStatusChangedEvent(Long orderId,
+                                      OrderStatus previousStatus,
+                                      OrderStatus newStatus,
+                                      BigDecimal totalAmount,
+                                      LocalDateTime orderCreatedAt) {
+
+    public boolean isCreation() {
+        return previousStatus == null;
+    }
+}
@@ -3,9 +3,11 @@ package com.admin.modules.order.mapper;
 import com.admin.modules.order.dto.OrderAddressDto;
 import com.admin.modules.order.dto.OrderDto;
 import com.admin.modules.order.dto.OrderItemDto;
+import com.admin.modules.order.dto.OrderListItemDto;
 import com.admin.modules.order.entity.Order;
 import com.admin.modules.order.entity.OrderAddress;
 import com.admin.modules.order.entity.OrderItem;
+import com.admin.modules.order.entity.OrderListView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -16,9 +18,17 @@ public interface OrderMapper {
     
     OrderDto toDto(Order order);
     
+    /**
+     * 不访问订单项集合，订单项由 OrderDtoAssembler 按页批量加载后填充
+     */
+    @Mapping(target = "items", ignore = true)
+    OrderDto toDtoWithoutItems(Order order);
+    
     OrderItemDto toItemDto(OrderItem item);
     
     OrderAddressDto toAddressDto(OrderAddress address);
     
     List<OrderItemDto> toItemDtoList(List<OrderItem> items);
+    
+    OrderListItemDto toListItemDto(OrderListView view);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.admin.modules.order.repository;
+
+import com.admin.modules.order.entity.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    
+    List<OrderItem> findByOrderIdInOrderByIdAsc(Collection<Long> orderIds);
+}
@@ -0,0 +1,32 @@
+package com.admin.modules.order.repository;
+
+import com.admin.modules.order.entity.OrderListView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 订单列表读模型的只读仓库，查询只走 order_list_view 上的 (created_at, order_id) 部分索引
+ */
+@RepositoryDefinition(domainClass = OrderListView.class, idClass = Long.class)
+@Transactional(readOnly = true)
+public interface OrderListViewRepository {
+    
+    @Query(value = "SELECT v FROM OrderListView v WHERE v.isDeleted = false ORDER BY v.createdAt DESC, v.id DESC",
+           countQuery = "SELECT COUNT(v) FROM OrderListView v WHERE v.isDeleted = false")
+    Page<OrderListView> findActivePage(Pageable pageable);
+    
+    @Query("SELECT v FROM OrderListView v WHERE v.isDeleted = false ORDER BY v.createdAt DESC, v.id DESC")
+    List<OrderListView> findActiveFirstPage(Pageable pageable);
+    
+    @Query("SELECT v FROM OrderListView v WHERE v.isDeleted = false AND (v.createdAt, v.id) < (:createdAt, :id) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    List<OrderListView> findActivePageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                            Pageable pageable);
+}
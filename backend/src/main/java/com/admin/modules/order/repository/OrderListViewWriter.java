@@ -0,0 +1,41 @@
+package com.admin.modules.order.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 维护 order_list_view：从订单主表和订单项重新计算一行并 UPSERT。
+ * 在订单写事务内调用，执行前 Hibernate 会先刷出未提交的实体变更，读模型与订单同时提交或回滚。
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderListViewWriter {
+
+    private static final String REFRESH_SQL =
+            "INSERT INTO order_list_view (order_id, order_number, user_id, user_name, item_count, first_product_name, " +
+            "total_amount, payable_amount, status, payment_status, paid_at, shipped_at, completed_at, cancelled_at, " +
+            "created_at, updated_at, is_deleted) " +
+            "SELECT o.id, o.order_number, o.user_id, o.user_name, " +
+            "(SELECT COUNT(*) FROM order_items i WHERE i.order_id = o.id), " +
+            "(SELECT i.product_name FROM order_items i WHERE i.order_id = o.id ORDER BY i.id LIMIT 1), " +
+            "o.total_amount, o.payable_amount, o.status, o.payment_status, o.paid_at, o.shipped_at, " +
+            "o.completed_at, o.cancelled_at, o.created_at, o.updated_at, o.is_deleted " +
+            "FROM orders o WHERE o.id = :orderId " +
+            "ON CONFLICT (order_id) DO UPDATE SET " +
+            "order_number = EXCLUDED.order_number, user_id = EXCLUDED.user_id, user_name = EXCLUDED.user_name, " +
+            "item_count = EXCLUDED.item_count, first_product_name = EXCLUDED.first_product_name, " +
+            "total_amount = EXCLUDED.total_amount, payable_amount = EXCLUDED.payable_amount, " +
+            "status = EXCLUDED.status, payment_status = EXCLUDED.payment_status, paid_at = EXCLUDED.paid_at, " +
+            "shipped_at = EXCLUDED.shipped_at, completed_at = EXCLUDED.completed_at, " +
+            "cancelled_at = EXCLUDED.cancelled_at, created_at = EXCLUDED.created_at, " +
+            "updated_at = EXCLUDED.updated_at, is_deleted = EXCLUDED.is_deleted";
+
+    private final EntityManager entityManager;
+
+    public void refresh(Long orderId) {
+        entityManager.createNativeQuery(REFRESH_SQL)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+}
@@ -34,6 +34,25 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.isDeleted = false ORDER BY o.createdAt DESC")
     Page<Order> findAllActiveOrders(Pageable pageable);
     
+    /**
+     * 详情：订单、地址、支付和订单项一次查询取回
+     */
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.address LEFT JOIN FETCH o.payment " +
+           "WHERE o.id = :id AND o.isDeleted = false")
+    Optional<Order> findDetailById(@Param("id") Long id);
+    
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.address LEFT JOIN FETCH o.payment " +
+           "WHERE o.orderNumber = :orderNumber AND o.isDeleted = false")
+    Optional<Order> findDetailByOrderNumber(@Param("orderNumber") String orderNumber);
+    
+    /**
+     * 列表：只连带一对一的地址和支付，不会放大行数，分页仍在 SQL 中完成；订单项由调用方按页批量加载
+     */
+    @Query(value = "SELECT o FROM Order o LEFT JOIN FETCH o.address LEFT JOIN FETCH o.payment " +
+                   "WHERE o.userId = :userId AND o.isDeleted = false ORDER BY o.createdAt DESC, o.id DESC",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.userId = :userId AND o.isDeleted = false")
+    Page<Order> findUserOrderPage(@Param("userId") Long userId, Pageable pageable);
+    
     @Query("SELECT o FROM Order o WHERE o.orderNumber LIKE %:keyword% OR o.user.username LIKE %:keyword%")
     Page<Order> searchOrders(@Param("keyword") String keyword, Pageable pageable);
 }
\ No newline at end of file
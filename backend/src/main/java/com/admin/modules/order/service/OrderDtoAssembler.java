@@ -0,0 +1,57 @@
+package com.admin.modules.order.service;
+
+import com.admin.modules.order.dto.OrderDto;
+import com.admin.modules.order.entity.Order;
+import com.admin.modules.order.entity.OrderItem;
+import com.admin.modules.order.mapper.OrderMapper;
+import com.admin.modules.order.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单列表DTO批量组装：地址和支付由列表查询连带取回，一页订单的订单项用一次 IN 查询加载，
+ * 查询次数与每页订单数无关。详情接口直接用连带订单项的查询，不经过这里。
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderDtoAssembler {
+
+    private final OrderMapper orderMapper;
+    private final OrderItemRepository orderItemRepository;
+
+    public Page<OrderDto> toDtoPage(Page<Order> page) {
+        return new PageImpl<>(toDtos(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    public List<OrderDto> toDtos(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderIds.add(order.getId());
+        }
+
+        Map<Long, List<OrderItem>> itemsByOrder = new HashMap<>();
+        for (OrderItem item : orderItemRepository.findByOrderIdInOrderByIdAsc(orderIds)) {
+            itemsByOrder.computeIfAbsent(item.getOrder().getId(), id -> new ArrayList<>()).add(item);
+        }
+
+        List<OrderDto> dtos = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderDto dto = orderMapper.toDtoWithoutItems(order);
+            dto.setItems(orderMapper.toItemDtoList(itemsByOrder.getOrDefault(order.getId(), Collections.emptyList())));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
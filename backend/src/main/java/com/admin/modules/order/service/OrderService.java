@@ -1,7 +1,10 @@
 package com.admin.modules.order.service;
 
+import com.admin.common.pagination.CursorPage;
+import com.admin.common.pagination.CursorPageRequest;
 import com.admin.modules.order.dto.OrderCreateRequest;
 import com.admin.modules.order.dto.OrderDto;
+import com.admin.modules.order.dto.OrderListItemDto;
 import com.admin.modules.order.entity.Order;
 import com.admin.modules.order.enums.OrderStatus;
 import org.springframework.data.domain.Page;
@@ -32,9 +35,14 @@ public interface OrderService {
     Page<OrderDto> getUserOrders(Long userId, Pageable pageable);
     
     /**
-     * 获取所有订单列表（管理员）
+     * 获取所有订单列表（管理员），读取 order_list_view 读模型
      */
-    Page<OrderDto> getAllOrders(Pageable pageable);
+    Page<OrderListItemDto> getAllOrders(Pageable pageable);
+    
+    /**
+     * 按游标获取所有订单（管理员），不执行 COUNT 查询
+     */
+    CursorPage<OrderListItemDto> getAllOrders(CursorPageRequest pageRequest);
     
     /**
      * 更新订单状态
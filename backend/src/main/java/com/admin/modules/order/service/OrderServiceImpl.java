@@ -1,17 +1,31 @@
 package com.admin.modules.order.service;
 
 import com.admin.common.exception.ResourceNotFoundException;
+import com.admin.common.id.IdGenerator;
+import com.admin.common.pagination.Cursor;
+import com.admin.common.pagination.CursorPage;
+import com.admin.common.pagination.CursorPageRequest;
+import com.admin.common.pagination.RowCountEstimator;
 import com.admin.modules.order.dto.OrderCreateRequest;
 import com.admin.modules.order.dto.OrderDto;
 import com.admin.modules.order.dto.OrderItemCreateRequest;
+import com.admin.modules.order.dto.OrderListItemDto;
 import com.admin.modules.order.entity.*;
 import com.admin.modules.order.enums.OrderStatus;
 import com.admin.modules.order.enums.PaymentStatus;
+import com.admin.modules.order.event.OrderStatusChangedEvent;
 import com.admin.modules.order.mapper.OrderMapper;
+import com.admin.modules.order.repository.OrderListViewRepository;
+import com.admin.modules.order.repository.OrderListViewWriter;
 import com.admin.modules.order.repository.OrderRepository;
-import com.admin.modules.product.entity.Sku;
+import com.admin.modules.product.enums.ProductStatus;
+import com.admin.modules.product.event.ReservationExpiredEvent;
+import com.admin.modules.product.inventory.InventoryReservationService;
+import com.admin.modules.product.projection.SkuOrderLine;
 import com.admin.modules.product.repository.SkuRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,7 +34,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,8 +45,15 @@ import java.util.UUID;
 public class OrderServiceImpl implements OrderService {
     
     private final OrderRepository orderRepository;
+    private final OrderListViewRepository orderListViewRepository;
+    private final OrderListViewWriter orderListViewWriter;
     private final SkuRepository skuRepository;
     private final OrderMapper orderMapper;
+    private final OrderDtoAssembler orderDtoAssembler;
+    private final InventoryReservationService inventoryReservationService;
+    private final IdGenerator idGenerator;
+    private final RowCountEstimator rowCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public OrderDto createOrder(OrderCreateRequest request, Long userId) {
@@ -64,41 +88,59 @@ public class OrderServiceImpl implements OrderService {
         BigDecimal totalAmount = BigDecimal.ZERO;
         BigDecimal discountAmount = BigDecimal.ZERO;
         
+        // 同一 SKU 的多行合并数量，按 SKU id 排序后统一预占
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItemCreateRequest itemRequest : request.getItems()) {
+            quantities.merge(itemRequest.getSkuId(), itemRequest.getQuantity(), Integer::sum);
+        }
+        
+        // 一次查询取回全部 SKU 及商品名称、主图
+        Map<Long, SkuOrderLine> skus = skuRepository.findOrderLinesByIdIn(quantities.keySet()).stream()
+                .collect(Collectors.toMap(SkuOrderLine::skuId, Function.identity()));
+        
         // 创建订单项
         for (OrderItemCreateRequest itemRequest : request.getItems()) {
-            Sku sku = skuRepository.findById(itemRequest.getSkuId())
-                    .orElseThrow(() -> new ResourceNotFoundException("SKU不存在"));
+            SkuOrderLine sku = skus.get(itemRequest.getSkuId());
+            if (sku == null) {
+                throw new ResourceNotFoundException("SKU不存在: " + itemRequest.getSkuId());
+            }
+            if (sku.status() != ProductStatus.ACTIVE) {
+                throw new IllegalStateException("SKU不可购买: " + itemRequest.getSkuId());
+            }
             
             OrderItem item = new OrderItem();
             item.setOrder(order);
-            item.setProductId(itemRequest.getProductId());
-            item.setSkuId(itemRequest.getSkuId());
-            item.setProductName(sku.getProduct().getName());
-            item.setProductImage(sku.getProduct().getImages().isEmpty() ? 
-                    null : sku.getProduct().getImages().get(0).getUrl());
-            item.setSkuName(sku.getName());
-            item.setPrice(sku.getPrice());
-            item.setOriginalPrice(sku.getPrice());
+            item.setProductId(sku.productId());
+            item.setSkuId(sku.skuId());
+            item.setProductName(sku.productName());
+            item.setProductImage(sku.productImage());
+            item.setSkuName(sku.skuName());
+            item.setPrice(sku.price());
+            item.setOriginalPrice(sku.price());
             item.setQuantity(itemRequest.getQuantity());
-            item.setTotalAmount(sku.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
-            item.setSpecifications(sku.getSpecifications());
+            item.setTotalAmount(sku.price().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+            item.setSpecifications(sku.specifications());
             
             order.getItems().add(item);
             totalAmount = totalAmount.add(item.getTotalAmount());
         }
         
+        // 在本事务内预占全部库存，任一 SKU 不足则整单失败并回滚
+        inventoryReservationService.reserve(orderNumber, quantities);
+        
         order.setTotalAmount(totalAmount);
         order.setPayableAmount(totalAmount.subtract(discountAmount));
         order.setDiscountAmount(discountAmount);
         
         Order savedOrder = orderRepository.save(order);
+        publishStatusChanged(savedOrder, null);
         return orderMapper.toDto(savedOrder);
     }
     
     @Override
     @Transactional(readOnly = true)
     public OrderDto getOrderByNumber(String orderNumber) {
-        Order order = orderRepository.findByOrderNumberAndIsDeletedFalse(orderNumber)
+        Order order = orderRepository.findDetailByOrderNumber(orderNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("订单不存在"));
         return orderMapper.toDto(order);
     }
@@ -106,7 +148,7 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public OrderDto getOrderById(Long orderId) {
-        Order order = orderRepository.findByIdAndIsDeletedFalse(orderId)
+        Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("订单不存在"));
         return orderMapper.toDto(order);
     }
@@ -114,15 +156,26 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> getUserOrders(Long userId, Pageable pageable) {
-        return orderRepository.findByUserIdAndIsDeletedFalseOrderByCreatedAtDesc(userId, pageable)
-                .map(orderMapper::toDto);
+        return orderDtoAssembler.toDtoPage(orderRepository.findUserOrderPage(userId, pageable));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrderListItemDto> getAllOrders(Pageable pageable) {
+        return orderListViewRepository.findActivePage(pageable).map(orderMapper::toListItemDto);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Page<OrderDto> getAllOrders(Pageable pageable) {
-        return orderRepository.findByIsDeletedFalseOrderByCreatedAtDesc(pageable)
-                .map(orderMapper::toDto);
+    public CursorPage<OrderListItemDto> getAllOrders(CursorPageRequest pageRequest) {
+        Cursor after = pageRequest.after();
+        List<OrderListView> rows = pageRequest.isFirstPage()
+                ? orderListViewRepository.findActiveFirstPage(pageRequest.limit())
+                : orderListViewRepository.findActivePageAfter(after.createdAt(), after.id(), pageRequest.limit());
+        return CursorPage.of(rows, pageRequest.size(),
+                view -> new Cursor(view.getCreatedAt(), view.getId()),
+                views -> views.stream().map(orderMapper::toListItemDto).collect(Collectors.toList()),
+                pageRequest.includeTotal() ? rowCountEstimator.estimate("order_list_view") : null);
     }
     
     @Override
@@ -130,12 +183,14 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findByIdAndIsDeletedFalse(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("订单不存在"));
         
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
         
         // 设置对应的时间
         LocalDateTime now = LocalDateTime.now();
         switch (status) {
             case PAID:
+                confirmReservation(order, previousStatus);
                 order.setPaidAt(now);
                 order.setPaymentStatus(PaymentStatus.PAID);
                 break;
@@ -149,6 +204,9 @@ public class OrderServiceImpl implements OrderService {
                 order.setCompletedAt(now);
                 break;
             case CANCELLED:
+                if (previousStatus == OrderStatus.PENDING) {
+                    inventoryReservationService.release(order.getOrderNumber());
+                }
                 order.setCancelledAt(now);
                 break;
         }
@@ -158,6 +216,7 @@ public class OrderServiceImpl implements OrderService {
         }
         
         Order savedOrder = orderRepository.save(order);
+        publishStatusChanged(savedOrder, previousStatus);
         return orderMapper.toDto(savedOrder);
     }
     
@@ -170,14 +229,32 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalStateException("只有待付款的订单才能取消");
         }
         
+        inventoryReservationService.release(order.getOrderNumber());
         order.setStatus(OrderStatus.CANCELLED);
         order.setCancelledAt(LocalDateTime.now());
         order.setCancelReason(reason);
         
         Order savedOrder = orderRepository.save(order);
+        publishStatusChanged(savedOrder, OrderStatus.PENDING);
         return orderMapper.toDto(savedOrder);
     }
     
+    /**
+     * 库存预占到期时自动取消仍未支付的订单，库存已由预占层归还
+     */
+    @EventListener
+    public void onReservationExpired(ReservationExpiredEvent event) {
+        orderRepository.findByOrderNumberAndIsDeletedFalse(event.reservationId())
+                .filter(order -> order.getStatus() == OrderStatus.PENDING)
+                .ifPresent(order -> {
+                    order.setStatus(OrderStatus.CANCELLED);
+                    order.setCancelledAt(LocalDateTime.now());
+                    order.setCancelReason("超时未支付，系统自动取消");
+                    Order savedOrder = orderRepository.save(order);
+                    publishStatusChanged(savedOrder, OrderStatus.PENDING);
+                });
+    }
+    
     @Override
     public void deleteOrder(Long orderId) {
         Order order = orderRepository.findById(orderId)
@@ -185,6 +262,7 @@ public class OrderServiceImpl implements OrderService {
         
         order.setIsDeleted(true);
         orderRepository.save(order);
+        orderListViewWriter.refresh(order.getId());
     }
     
     @Override
@@ -194,7 +272,39 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("订单不存在"));
     }
     
+    private void confirmReservation(Order order, OrderStatus previousStatus) {
+        if (previousStatus != OrderStatus.PENDING) {
+            return;
+        }
+        switch (inventoryReservationService.confirm(order.getOrderNumber())) {
+            case RELEASED:
+                // 预占已过期说明库存已归还，订单会被自动取消，不能再确认支付
+                throw new IllegalStateException("订单库存预占已过期: " + order.getOrderNumber());
+            case NOT_FOUND:
+                // 预占上线前创建的订单没有预占记录，支付时再扣减库存；曾支付过的订单已扣减
+                if (order.getPaidAt() == null) {
+                    Map<Long, Integer> quantities = new TreeMap<>();
+                    for (OrderItem item : order.getItems()) {
+                        quantities.merge(item.getSkuId(), item.getQuantity(), Integer::sum);
+                    }
+                    inventoryReservationService.deduct(order.getOrderNumber(), quantities);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * 订单新建或状态变更：同一事务内刷新列表读模型，并发布状态变更事件
+     */
+    private void publishStatusChanged(Order order, OrderStatus previousStatus) {
+        orderListViewWriter.refresh(order.getId());
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), previousStatus, order.getStatus(), order.getTotalAmount(), order.getCreatedAt()));
+    }
+    
     private String generateOrderNumber() {
-        return "ORD" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextNumber("ORD");
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.admin.modules.product.category;
+
+import com.admin.modules.product.entity.Category;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 分类树的不可变快照，由一次查询加载的全部分类构建，之后只读
+ */
+public final class CategoryTree {
+
+    private static final Comparator<Node> SIBLING_ORDER =
+            Comparator.comparing(Node::sortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Node::id);
+
+    public record Node(Long id, String name, String code, String description, String imageUrl, Integer sortOrder,
+                       Category.CategoryStatus status, Long parentId, String path, int level, List<Long> childIds) {
+    }
+
+    private final Map<Long, Node> nodes;
+    private final List<Long> rootIds;
+
+    private CategoryTree(Map<Long, Node> nodes, List<Long> rootIds) {
+        this.nodes = nodes;
+        this.rootIds = rootIds;
+    }
+
+    public static CategoryTree of(List<Category> categories) {
+        Map<Long, List<Node>> childrenByParent = new HashMap<>();
+        List<Node> flat = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            Long parentId = category.getParent() != null ? category.getParent().getId() : null;
+            Node node = new Node(category.getId(), category.getName(), category.getCode(), category.getDescription(),
+                    category.getImageUrl(), category.getSortOrder(), category.getStatus(), parentId,
+                    category.getPath(), category.getLevel() != null ? category.getLevel() : 1, List.of());
+            flat.add(node);
+            childrenByParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(node);
+        }
+
+        Map<Long, Node> nodes = new LinkedHashMap<>();
+        for (Node node : flat) {
+            List<Node> children = childrenByParent.getOrDefault(node.id(), List.of());
+            List<Long> childIds = children.stream().sorted(SIBLING_ORDER).map(Node::id).toList();
+            nodes.put(node.id(), new Node(node.id(), node.name(), node.code(), node.description(), node.imageUrl(),
+                    node.sortOrder(), node.status(), node.parentId(), node.path(), node.level(), childIds));
+        }
+        List<Long> rootIds = childrenByParent.getOrDefault(null, List.of()).stream()
+                .sorted(SIBLING_ORDER).map(Node::id).toList();
+        return new CategoryTree(Collections.unmodifiableMap(nodes), rootIds);
+    }
+
+    public Optional<Node> find(Long id) {
+        return Optional.ofNullable(nodes.get(id));
+    }
+
+    public List<Node> roots() {
+        return rootIds.stream().map(nodes::get).toList();
+    }
+
+    public List<Node> children(Long id) {
+        Node node = nodes.get(id);
+        return node != null ? node.childIds().stream().map(nodes::get).toList() : List.of();
+    }
+
+    /**
+     * @return 自身及全部后代的 id，分类不存在时为空
+     */
+    public List<Long> subtreeIds(Long id) {
+        if (!nodes.containsKey(id)) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        pending.push(id);
+        while (!pending.isEmpty()) {
+            Long current = pending.pop();
+            ids.add(current);
+            nodes.get(current).childIds().forEach(pending::push);
+        }
+        return ids;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+}
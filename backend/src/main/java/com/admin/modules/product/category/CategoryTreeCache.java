@@ -0,0 +1,106 @@
+package com.admin.modules.product.category;
+
+import com.admin.common.cache.CacheInvalidationMessage;
+import com.admin.common.cache.CacheInvalidationPublisher;
+import com.admin.modules.product.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 持有分类树快照：首次使用时一次查询构建，分类变更提交后才失效重建。
+ * 其他节点的变更通过缓存失效频道广播。
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache implements MessageListener {
+
+    public static final String CACHE_NAME = "categoryTree";
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTreeCache.class);
+
+    private final CategoryRepository categoryRepository;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<CategoryTree> snapshot = new AtomicReference<>();
+    // 每次失效递增，构建期间发生失效时丢弃构建结果
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+    }
+
+    public CategoryTree get() {
+        CategoryTree tree = snapshot.get();
+        if (tree != null) {
+            return tree;
+        }
+        long expectedGeneration = generation.get();
+        tree = CategoryTree.of(categoryRepository.findAllForTree());
+        if (generation.get() == expectedGeneration && snapshot.compareAndSet(null, tree)
+                && generation.get() != expectedGeneration) {
+            // 发布后才发生失效，撤回这份快照
+            snapshot.compareAndSet(tree, null);
+        }
+        return tree;
+    }
+
+    /**
+     * 当前事务提交后失效本节点快照并通知其他节点
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAndBroadcast();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateAndBroadcast();
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), CacheInvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed cache invalidation message", e);
+            return;
+        }
+        if (CACHE_NAME.equals(invalidation.cacheName())
+                && !invalidationPublisher.getNodeId().equals(invalidation.sourceNodeId())) {
+            invalidate();
+        }
+    }
+
+    private void invalidateAndBroadcast() {
+        invalidate();
+        invalidationPublisher.publish(CACHE_NAME, null);
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+}
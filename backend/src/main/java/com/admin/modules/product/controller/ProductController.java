@@ -1,7 +1,13 @@
 package com.admin.modules.product.controller;
 
+import com.admin.common.pagination.CursorPage;
+import com.admin.common.pagination.CursorPageRequest;
 import com.admin.modules.product.dto.ProductCreateRequest;
 import com.admin.modules.product.dto.ProductDto;
+import com.admin.modules.product.dto.ProductSearchCriteria;
+import com.admin.modules.product.dto.ProductSearchFacetsDto;
+import com.admin.modules.product.dto.ProductSuggestionDto;
+import com.admin.modules.product.search.ProductSuggestService;
 import com.admin.modules.product.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -25,6 +31,7 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final ProductSuggestService productSuggestService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('PRODUCT_MANAGER')")
@@ -48,6 +55,16 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
     
+    @GetMapping(params = "after")
+    @Operation(summary = "按游标获取商品列表", description = "after 为空时返回第一页，之后传入上一页的 nextCursor")
+    public ResponseEntity<CursorPage<ProductDto>> getProductsAfter(
+            @RequestParam String after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<ProductDto> products = productService.getProducts(CursorPageRequest.of(after, size, includeTotal));
+        return ResponseEntity.ok(products);
+    }
+    
     @GetMapping("/status/{status}")
     @Operation(summary = "根据状态获取商品列表")
     public ResponseEntity<Page<ProductDto>> getProductsByStatus(
@@ -59,8 +76,10 @@ public class ProductController {
     
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "根据分类获取商品列表")
-    public ResponseEntity<List<ProductDto>> getProductsByCategory(@PathVariable Long categoryId) {
-        List<ProductDto> products = productService.getProductsByCategory(categoryId);
+    public ResponseEntity<List<ProductDto>> getProductsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "false") boolean includeDescendants) {
+        List<ProductDto> products = productService.getProductsByCategory(categoryId, includeDescendants);
         return ResponseEntity.ok(products);
     }
     
@@ -93,15 +112,30 @@ public class ProductController {
     }
     
     @GetMapping("/search")
-    @Operation(summary = "搜索商品")
+    @Operation(summary = "搜索商品", description = "按相关度排序，可按分类、状态、价格区间筛选")
     public ResponseEntity<Page<ProductDto>> searchProducts(
-            @RequestParam(required = false) String keyword,
+            @ModelAttribute ProductSearchCriteria criteria,
             Pageable pageable) {
-        Page<ProductDto> products = productService.searchProducts(
-                keyword != null ? keyword : "", pageable);
+        Page<ProductDto> products = productService.searchProducts(criteria, pageable);
         return ResponseEntity.ok(products);
     }
     
+    @GetMapping("/search/facets")
+    @Operation(summary = "搜索商品分面计数", description = "按分类、状态统计匹配的商品数，参数与搜索接口相同")
+    public ResponseEntity<ProductSearchFacetsDto> searchFacets(@ModelAttribute ProductSearchCriteria criteria) {
+        ProductSearchFacetsDto facets = productService.searchFacets(criteria);
+        return ResponseEntity.ok(facets);
+    }
+    
+    @GetMapping("/suggest")
+    @Operation(summary = "商品联想", description = "按名称、编码、品牌、条码前缀或片段匹配，容忍少量错字；至少输入两个字符")
+    public ResponseEntity<List<ProductSuggestionDto>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSuggestionDto> suggestions = productSuggestService.suggest(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+    
     @GetMapping("/low-stock")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PRODUCT_MANAGER')")
     @Operation(summary = "获取低库存商品列表")
@@ -0,0 +1,19 @@
+package com.admin.modules.product.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 商品搜索条件，均为可选；价格区间按任一 SKU 的售价匹配
+ */
+@Data
+public class ProductSearchCriteria {
+    private String keyword;
+    private Long categoryId;
+    // 为 true 时分类筛选包含全部子孙分类
+    private boolean includeDescendants;
+    private String status;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
@@ -0,0 +1,15 @@
+package com.admin.modules.product.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 搜索结果的分面计数。每个维度的计数不受该维度自身的筛选影响，便于切换筛选值。
+ */
+@Data
+public class ProductSearchFacetsDto {
+    private long total;
+    private List<FacetCountDto> categories;
+    private List<FacetCountDto> statuses;
+}
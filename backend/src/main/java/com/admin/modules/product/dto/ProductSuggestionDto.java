@@ -0,0 +1,16 @@
+package com.admin.modules.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDto {
+    private Long productId;
+    private String name;
+    private String code;
+    private String brand;
+    private double score;
+}
@@ -37,6 +37,10 @@ public class Category extends BaseEntity {
     @Column(nullable = false)
     private Integer level = 1;
     
+    // 物化路径：从根到自身的 id 序列，如 /1/5/12/，子树即路径前缀相同的分类
+    @Column(nullable = false, length = 500)
+    private String path;
+    
     @Column(nullable = false)
     private Integer sortOrder = 0;
     
@@ -53,6 +57,20 @@ public class Category extends BaseEntity {
     @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
     private List<Product> products = new ArrayList<>();
     
+    /**
+     * id 在插入后才生成：插入前路径先取父路径占位，插入后补上自身 id，随同一次 flush 更新
+     */
+    @PrePersist
+    void initPath() {
+        path = parent != null ? parent.getPath() : "/";
+        level = parent != null ? parent.getLevel() + 1 : 1;
+    }
+
+    @PostPersist
+    void appendIdToPath() {
+        path = path + id + "/";
+    }
+    
     public enum CategoryStatus {
         ACTIVE, INACTIVE
     }
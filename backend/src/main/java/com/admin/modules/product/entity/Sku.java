@@ -54,5 +54,9 @@ public class Sku extends BaseEntity {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
     
+    // 热点SKU的库存由 Redis 预占层维护，只由 HotStockMaintenance 修改
+    @Column(name = "hot_stock", nullable = false)
+    private Boolean hotStock = false;
+    
 
 }
\ No newline at end of file
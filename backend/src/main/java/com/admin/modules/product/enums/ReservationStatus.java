@@ -0,0 +1,8 @@
+package com.admin.modules.product.enums;
+
+/**
+ * 库存预占状态：RESERVED 待确认，CONFIRMED 已确认（订单已支付），RELEASED 已释放（取消或过期）
+ */
+public enum ReservationStatus {
+    RESERVED, CONFIRMED, RELEASED
+}
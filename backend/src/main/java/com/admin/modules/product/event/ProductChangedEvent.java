@@ -0,0 +1,7 @@
+package com.admin.modules.product.event;
+
+/**
+ * 商品新增、修改、删除或上下架
+ */
+public record ProductChangedEvent(Long productId) {
+}
@@ -0,0 +1,7 @@
+package com.admin.modules.product.event;
+
+/**
+ * 库存预占到期未确认，库存已归还
+ */
+public record ReservationExpiredEvent(String reservationId) {
+}
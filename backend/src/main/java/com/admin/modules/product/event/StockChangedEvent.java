@@ -0,0 +1,7 @@
+package com.admin.modules.product.event;
+
+/**
+ * SKU库存变更事件，携带所属商品 id 以便失效商品详情缓存
+ */
+public record StockChangedEvent(Long skuId, Long productId, Integer previousStock, Integer newStock) {
+}
@@ -0,0 +1,61 @@
+package com.admin.modules.product.inventory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按秒统计每个 SKU 的预占次数，首次达到阈值时报告为热点。
+ * 计数只在本节点内进行，阈值按单节点流量配置。
+ */
+@Component
+public class HotSkuDetector {
+
+    private final HotSkuProperties.Detection detection;
+    private final Cache<Long, SecondCounter> counters;
+
+    public HotSkuDetector(HotSkuProperties properties) {
+        this.detection = properties.getDetection();
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(detection.getMaximumTracked())
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+    }
+
+    /**
+     * 记录一次预占
+     *
+     * @return 本秒内恰好达到阈值时返回 true，同一秒内只返回一次
+     */
+    public boolean record(Long skuId) {
+        if (!detection.isEnabled()) {
+            return false;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        SecondCounter counter = counters.get(skuId, id -> new SecondCounter());
+        return counter.increment(second) == detection.getThresholdPerSecond();
+    }
+
+    /**
+     * 以秒为窗口的计数器，高 32 位保存秒数，低 32 位保存次数，一次 CAS 完成换窗与计数
+     */
+    private static final class SecondCounter {
+
+        private final AtomicLong state = new AtomicLong();
+
+        long increment(long second) {
+            while (true) {
+                long current = state.get();
+                long next = (current >>> 32) == (second & 0xFFFFFFFFL)
+                        ? current + 1
+                        : ((second & 0xFFFFFFFFL) << 32) | 1;
+                if (state.compareAndSet(current, next)) {
+                    return next & 0xFFFFFFFFL;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.admin.modules.product.inventory;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 热点SKU库存配置（app.inventory.hot-sku）：热点可由 skuIds 指定，也可按访问频率自动识别
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.inventory.hot-sku")
+public class HotSkuProperties {
+
+    // 是否升级新的热点SKU；关闭后已有热点仍会回写并按冷却时间退出
+    private boolean enabled = true;
+
+    // 始终作为热点管理的 SKU，启动时加载，不会因访问下降而退出
+    private Set<Long> skuIds = new LinkedHashSet<>();
+
+    // 未支付订单的库存预占有效期
+    private Duration reservationTtl = Duration.ofMinutes(15);
+
+    // 增量回写数据库的间隔，同时刷新本节点的热点SKU列表
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    // 过期预占的扫描间隔与单次处理数量
+    private Duration sweepInterval = Duration.ofSeconds(5);
+    private int sweepBatchSize = 200;
+
+    private Detection detection = new Detection();
+
+    @Data
+    public static class Detection {
+        // 是否按访问频率自动识别热点
+        private boolean enabled = true;
+
+        // 单节点每秒预占次数达到该值时升级为热点
+        private int thresholdPerSecond = 50;
+
+        // 自动识别的热点在多长时间无预占后退回数据库
+        private Duration coolDown = Duration.ofMinutes(10);
+
+        // 同时统计访问频率的 SKU 数量上限
+        private long maximumTracked = 10_000;
+    }
+}
@@ -0,0 +1,289 @@
+package com.admin.modules.product.inventory;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 热点库存的 Redis 存储，所有会改变库存的操作都由 Lua 脚本原子完成。
+ * <p>
+ * 不变式：Redis 中的热点库存 = 数据库库存 + 待回写增量（inventory:pending-delta）。
+ * 预占、释放与人工调整都会同时修改这两部分，回写时再把增量批量写入数据库。
+ * 这里只登记预占的热点部分，预占状态以数据库中的预占记录为准。
+ */
+@Component
+public class HotSkuStockStore {
+
+    // adjust 的返回值：SKU 未加载到 Redis / 调整后库存为负
+    public static final long ADJUST_NOT_LOADED = -1;
+    public static final long ADJUST_INSUFFICIENT = -2;
+
+    private static final String KEY_PREFIX = "inventory:";
+    private static final String STOCK_KEY_PREFIX = KEY_PREFIX + "stock:";
+    private static final String RESERVATION_KEY_PREFIX = KEY_PREFIX + "reservation:";
+    private static final String RESERVATION_EXPIRY_KEY = KEY_PREFIX + "reservation-expiry";
+    private static final String RESERVATION_RELEASED_KEY = KEY_PREFIX + "reservation-released";
+    private static final String PENDING_DELTA_KEY = KEY_PREFIX + "pending-delta";
+    private static final String HOT_SKUS_KEY = KEY_PREFIX + "hot-skus";
+    private static final String HOT_TOUCH_KEY = KEY_PREFIX + "hot-touch";
+    private static final String FLUSH_LOCK_KEY = KEY_PREFIX + "flush-lock";
+
+    // 已释放的预占单号保留时长，只需覆盖释放到数据库事务提交之间的窗口
+    private static final Duration RELEASED_RETENTION = Duration.ofDays(1);
+    private static final int MAX_RELEASE_ATTEMPTS = 3;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESERVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/inventory_reserve.lua"), List.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/inventory_release.lua"), Long.class);
+    private static final RedisScript<Long> CONFIRM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/inventory_confirm.lua"), Long.class);
+    private static final RedisScript<Long> SEED_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/inventory_seed.lua"), Long.class);
+    private static final RedisScript<Long> ADJUST_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/inventory_adjust.lua"), Long.class);
+    private static final RedisScript<Long> SETTLE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/inventory_settle.lua"), Long.class);
+    private static final RedisScript<Long> DEACTIVATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/inventory_deactivate.lua"), Long.class);
+    private static final RedisScript<Long> UNLOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/inventory_unlock.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public HotSkuStockStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 预占结果；skuId 为导致失败的 SKU
+     */
+    public record ReserveOutcome(Status status, Long skuId) {
+
+        public enum Status {
+            RESERVED, DUPLICATE, NOT_LOADED, INSUFFICIENT
+        }
+    }
+
+    /**
+     * 确认结果：NOT_FOUND 表示从未登记过该预占（如预占上线前创建的订单），区别于已释放
+     */
+    public enum ConfirmOutcome {
+        CONFIRMED, RELEASED, NOT_FOUND
+    }
+
+    /**
+     * 释放结果：ALREADY_RELEASED 表示此前已释放过；NOT_FOUND 表示 Redis 中没有该预占（已确认或记录丢失）
+     */
+    public enum ReleaseOutcome {
+        RELEASED, ALREADY_RELEASED, NOT_FOUND
+    }
+
+    /**
+     * 原子预占：扣减热点部分的 Redis 库存并登记明细，释放时据此归还
+     */
+    public ReserveOutcome reserve(String reservationId, Map<Long, Integer> hotItems, long expireAtMillis) {
+        List<Long> hotSkuIds = new ArrayList<>(hotItems.keySet());
+        List<String> keys = new ArrayList<>();
+        keys.add(RESERVATION_KEY_PREFIX + reservationId);
+        keys.add(RESERVATION_EXPIRY_KEY);
+        keys.add(PENDING_DELTA_KEY);
+        keys.add(HOT_TOUCH_KEY);
+        for (Long skuId : hotSkuIds) {
+            keys.add(STOCK_KEY_PREFIX + skuId);
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add(reservationId);
+        args.add(String.valueOf(expireAtMillis));
+        args.add(String.valueOf(System.currentTimeMillis()));
+        for (Long skuId : hotSkuIds) {
+            args.add(String.valueOf(skuId));
+            args.add(String.valueOf(hotItems.get(skuId)));
+        }
+
+        List<?> result = redisTemplate.execute(RESERVE_SCRIPT, keys, args.toArray());
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("库存预占脚本返回异常: " + reservationId);
+        }
+        int status = ((Number) result.get(0)).intValue();
+        int index = ((Number) result.get(1)).intValue();
+        return switch (status) {
+            case 0 -> new ReserveOutcome(ReserveOutcome.Status.RESERVED, null);
+            case 1 -> new ReserveOutcome(ReserveOutcome.Status.DUPLICATE, null);
+            case 2 -> new ReserveOutcome(ReserveOutcome.Status.NOT_LOADED, hotSkuIds.get(index - 1));
+            case 3 -> new ReserveOutcome(ReserveOutcome.Status.INSUFFICIENT, hotSkuIds.get(index - 1));
+            default -> throw new IllegalStateException("库存预占脚本返回未知状态: " + status);
+        };
+    }
+
+    /**
+     * 释放预占：热点部分归还 Redis 库存
+     */
+    public ReleaseOutcome release(String reservationId) {
+        for (int attempt = 1; ; attempt++) {
+            // 脚本访问的库存 key 都经 KEYS 传入，先读出预占涉及的热点SKU；与脚本执行时不符则重读
+            Set<Object> hotSkuIds = redisTemplate.opsForHash().keys(RESERVATION_KEY_PREFIX + reservationId);
+            long now = System.currentTimeMillis();
+            List<String> keys = new ArrayList<>(List.of(
+                    RESERVATION_KEY_PREFIX + reservationId, RESERVATION_EXPIRY_KEY, PENDING_DELTA_KEY,
+                    RESERVATION_RELEASED_KEY));
+            List<String> args = new ArrayList<>(List.of(
+                    reservationId, String.valueOf(now), String.valueOf(now - RELEASED_RETENTION.toMillis())));
+            for (Object skuId : hotSkuIds) {
+                keys.add(STOCK_KEY_PREFIX + skuId);
+                args.add(String.valueOf(skuId));
+            }
+
+            Long released = redisTemplate.execute(RELEASE_SCRIPT, keys, args.toArray());
+            if (released == null) {
+                throw new IllegalStateException("库存释放脚本返回异常: " + reservationId);
+            }
+            switch (released.intValue()) {
+                case 1:
+                    return ReleaseOutcome.RELEASED;
+                case 0:
+                    return ReleaseOutcome.ALREADY_RELEASED;
+                case 2:
+                    if (attempt >= MAX_RELEASE_ATTEMPTS) {
+                        throw new IllegalStateException("库存释放失败，预占明细变化: " + reservationId);
+                    }
+                    continue;
+                default:
+                    return ReleaseOutcome.NOT_FOUND;
+            }
+        }
+    }
+
+    /**
+     * 确认预占，库存保持扣减
+     */
+    public ConfirmOutcome confirm(String reservationId) {
+        Long confirmed = redisTemplate.execute(CONFIRM_SCRIPT,
+                List.of(RESERVATION_KEY_PREFIX + reservationId, RESERVATION_EXPIRY_KEY, RESERVATION_RELEASED_KEY),
+                reservationId);
+        if (confirmed == null) {
+            throw new IllegalStateException("库存确认脚本返回异常: " + reservationId);
+        }
+        return switch (confirmed.intValue()) {
+            case 1 -> ConfirmOutcome.CONFIRMED;
+            case 0 -> ConfirmOutcome.RELEASED;
+            default -> ConfirmOutcome.NOT_FOUND;
+        };
+    }
+
+    /**
+     * 用数据库库存加载热点库存，已加载时保持 Redis 中的值
+     *
+     * @return 加载后的 Redis 库存
+     */
+    public long seed(Long skuId, int databaseStock) {
+        Long stock = redisTemplate.execute(SEED_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + skuId, PENDING_DELTA_KEY, HOT_SKUS_KEY, HOT_TOUCH_KEY),
+                String.valueOf(skuId), String.valueOf(databaseStock), String.valueOf(System.currentTimeMillis()));
+        return stock != null ? stock : 0;
+    }
+
+    /**
+     * 人工调整热点库存
+     *
+     * @param absolute true 表示设置为 value，false 表示增加 value
+     * @return 调整后的库存，或 {@link #ADJUST_NOT_LOADED} / {@link #ADJUST_INSUFFICIENT}
+     */
+    public long adjust(Long skuId, int value, boolean absolute) {
+        Long stock = redisTemplate.execute(ADJUST_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + skuId, PENDING_DELTA_KEY),
+                String.valueOf(skuId), absolute ? "set" : "delta", String.valueOf(value));
+        return stock != null ? stock : ADJUST_NOT_LOADED;
+    }
+
+    /**
+     * 当前待回写的增量快照（不清除）
+     */
+    public Map<Long, Integer> pendingDeltas() {
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        redisTemplate.<String, String>opsForHash().entries(PENDING_DELTA_KEY).forEach((skuId, delta) -> {
+            int value = Integer.parseInt(delta);
+            if (value != 0) {
+                deltas.put(Long.valueOf(skuId), value);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * 扣除已回写到数据库的增量；传入负数即可把增量加回
+     */
+    public void settle(Map<Long, Integer> appliedDeltas) {
+        if (appliedDeltas.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>();
+        appliedDeltas.forEach((skuId, delta) -> {
+            args.add(String.valueOf(skuId));
+            args.add(String.valueOf(delta));
+        });
+        redisTemplate.execute(SETTLE_SCRIPT, List.of(PENDING_DELTA_KEY), args.toArray());
+    }
+
+    /**
+     * 移除热点库存，仍有未回写增量时不做处理
+     */
+    public boolean deactivate(Long skuId) {
+        Long deactivated = redisTemplate.execute(DEACTIVATE_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + skuId, PENDING_DELTA_KEY, HOT_SKUS_KEY, HOT_TOUCH_KEY),
+                String.valueOf(skuId));
+        return deactivated != null && deactivated == 1;
+    }
+
+    public Set<Long> hotSkuIds() {
+        Set<String> members = redisTemplate.opsForSet().members(HOT_SKUS_KEY);
+        Set<Long> skuIds = new LinkedHashSet<>();
+        if (members != null) {
+            for (String member : members) {
+                skuIds.add(Long.valueOf(member));
+            }
+        }
+        return skuIds;
+    }
+
+    /**
+     * 最后一次预占早于指定时间的热点SKU
+     */
+    public Set<Long> findIdleHotSkus(long idleSinceMillis) {
+        Set<String> members = redisTemplate.opsForZSet().rangeByScore(HOT_TOUCH_KEY, 0, idleSinceMillis);
+        Set<Long> skuIds = new LinkedHashSet<>();
+        if (members != null) {
+            for (String member : members) {
+                skuIds.add(Long.valueOf(member));
+            }
+        }
+        return skuIds;
+    }
+
+    /**
+     * 获取集群内唯一的回写锁
+     *
+     * @return 锁持有者标识，未获取到时返回 null
+     */
+    public String tryLockFlush(Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(FLUSH_LOCK_KEY, token, ttl);
+        return Boolean.TRUE.equals(locked) ? token : null;
+    }
+
+    public void unlockFlush(String token) {
+        redisTemplate.execute(UNLOCK_SCRIPT, List.of(FLUSH_LOCK_KEY), token);
+    }
+}
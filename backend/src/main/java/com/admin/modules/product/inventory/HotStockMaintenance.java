@@ -0,0 +1,116 @@
+package com.admin.modules.product.inventory;
+
+import com.admin.common.exception.ResourceNotFoundException;
+import com.admin.modules.product.service.StockMutationService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 热点SKU在数据库与 Redis 之间的切换与回写。
+ * 涉及单个 SKU 的操作都先锁定 skus 行，保证加载 Redis 库存时数据库库存与待回写增量一致。
+ */
+@Service
+@RequiredArgsConstructor
+public class HotStockMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotStockMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HotSkuStockStore stockStore;
+    private final StockMutationService stockMutationService;
+
+    /**
+     * 将 SKU 升级为热点：标记 hot_stock 后把库存加载到 Redis，此后数据库侧扣减会被拒绝。
+     * 提交后才加载，回滚时 Redis 中不会留下数据库并不认可的热点库存；
+     * 提交到加载之间的预占会因 Redis 缺少库存而经 {@link #ensureSeeded} 补加载。
+     */
+    @Transactional
+    public void activate(Long skuId) {
+        List<Integer> stock = jdbcTemplate.queryForList(
+                "UPDATE skus SET hot_stock = TRUE WHERE id = ? RETURNING stock", Integer.class, skuId);
+        if (stock.isEmpty()) {
+            throw new ResourceNotFoundException("SKU不存在: " + skuId);
+        }
+        int databaseStock = stock.get(0);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long loaded = stockStore.seed(skuId, databaseStock);
+                logger.info("SKU {} switched to Redis hot stock, stock {}", skuId, loaded);
+            }
+        });
+    }
+
+    /**
+     * Redis 中缺少热点库存（如 Redis 重启）时重新加载。独立事务，行锁在加载完成后立即释放。
+     *
+     * @return SKU 仍为热点并已加载时返回 true，已不是热点时返回 false
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean ensureSeeded(Long skuId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT stock, hot_stock FROM skus WHERE id = ? FOR UPDATE", skuId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("SKU不存在: " + skuId);
+        }
+        if (!Boolean.TRUE.equals(rows.get(0).get("hot_stock"))) {
+            return false;
+        }
+        stockStore.seed(skuId, ((Number) rows.get(0).get("stock")).intValue());
+        return true;
+    }
+
+    /**
+     * 把待回写增量写入数据库。先写数据库再在提交前扣除 Redis 中的增量，
+     * 这样并发的 {@link #ensureSeeded} 在行锁释放后读到的数据库库存与剩余增量总是一致的；
+     * 提交失败时把增量加回。
+     */
+    @Transactional
+    public void flush(Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        stockMutationService.applyDeltas(deltas);
+        stockStore.settle(deltas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    Map<Long, Integer> restored = new HashMap<>();
+                    deltas.forEach((skuId, delta) -> restored.put(skuId, -delta));
+                    stockStore.settle(restored);
+                }
+            }
+        });
+    }
+
+    /**
+     * 热点退回数据库：只有增量已全部回写时才会退出
+     *
+     * @return 是否已退出
+     */
+    @Transactional
+    public boolean deactivate(Long skuId) {
+        List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM skus WHERE id = ? FOR UPDATE", Long.class, skuId);
+        if (!stockStore.deactivate(skuId)) {
+            return false;
+        }
+        if (!locked.isEmpty()) {
+            jdbcTemplate.update("UPDATE skus SET hot_stock = FALSE WHERE id = ?", skuId);
+            logger.info("SKU {} returned to database stock", skuId);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.admin.modules.product.inventory;
+
+import com.admin.common.datasource.ConnectionPool;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 热点库存的后台任务：启动时加载配置的热点，定期回写增量、退出冷却的热点、处理过期预占
+ */
+@ConnectionPool(ConnectionPool.BACKGROUND)
+@Component
+@RequiredArgsConstructor
+public class HotStockScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotStockScheduler.class);
+
+    private final HotSkuProperties properties;
+    private final HotSkuStockStore stockStore;
+    private final HotStockMaintenance hotStockMaintenance;
+    private final InventoryReservationService reservationService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void activateConfiguredSkus() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (Long skuId : properties.getSkuIds()) {
+            try {
+                hotStockMaintenance.activate(skuId);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to switch configured SKU {} to Redis hot stock", skuId, e);
+            }
+        }
+        reservationService.refreshHotSkus();
+    }
+
+    /**
+     * 批量回写增量并退出冷却的热点；集群内同一时间只有一个节点执行
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.hot-sku.flush-interval:1s}")
+    public void flushPendingDeltas() {
+        try {
+            reservationService.refreshHotSkus();
+
+            String lock = stockStore.tryLockFlush(properties.getFlushInterval().multipliedBy(30));
+            if (lock == null) {
+                return;
+            }
+            try {
+                Map<Long, Integer> deltas = stockStore.pendingDeltas();
+                hotStockMaintenance.flush(deltas);
+                deactivateIdleSkus();
+            } finally {
+                stockStore.unlockFlush(lock);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush hot stock deltas", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.hot-sku.sweep-interval:5s}")
+    public void releaseExpiredReservations() {
+        List<String> expired;
+        try {
+            expired = reservationService.findExpired(properties.getSweepBatchSize());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load expired inventory reservations", e);
+            return;
+        }
+        for (String reservationId : expired) {
+            try {
+                reservationService.expire(reservationId);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to release expired inventory reservation {}", reservationId, e);
+            }
+        }
+    }
+
+    private void deactivateIdleSkus() {
+        long idleSince = System.currentTimeMillis() - properties.getDetection().getCoolDown().toMillis();
+        Set<Long> idle = stockStore.findIdleHotSkus(idleSince);
+        idle.removeAll(properties.getSkuIds());
+        for (Long skuId : idle) {
+            hotStockMaintenance.deactivate(skuId);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.admin.modules.product.inventory;
+
+import com.admin.modules.product.enums.ReservationStatus;
+import com.admin.modules.product.event.ReservationExpiredEvent;
+import com.admin.modules.product.projection.ReservationItem;
+import com.admin.modules.product.repository.InventoryReservationRepository;
+import com.admin.modules.product.service.HotStockException;
+import com.admin.modules.product.service.StockMutationService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 库存预占入口：热点SKU在 Redis 中用 Lua 原子预占，其余 SKU 走数据库条件扣减。
+ * 预占在确认（支付）前有有效期，到期未确认时自动归还库存并发布 {@link ReservationExpiredEvent}。
+ * <p>
+ * 预占记录与明细保存在数据库中，与库存扣减同一事务提交；确认、释放都先在数据库中认领状态，
+ * Redis 只负责热点部分的库存，不含热点SKU的预占完全不访问 Redis。
+ * <p>
+ * 本节点缓存一份热点SKU列表用于拆分；列表过期时数据库或 Redis 会拒绝，拆分修正后重试。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class InventoryReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryReservationService.class);
+
+    // 热点列表过期、热点切换时的最大重试次数
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final HotSkuProperties properties;
+    private final HotSkuStockStore stockStore;
+    private final HotSkuDetector hotSkuDetector;
+    private final HotStockMaintenance hotStockMaintenance;
+    private final StockMutationService stockMutationService;
+    private final InventoryReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Set<Long> hotSkus = ConcurrentHashMap.newKeySet();
+    private final Set<Long> activating = ConcurrentHashMap.newKeySet();
+    private final ExecutorService activationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hot-sku-activation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 预占库存，全部成功或全部失败。外层事务回滚时热点部分自动归还。
+     *
+     * @param reservationId 预占单号（通常为订单号），重复预占会被拒绝
+     * @param quantities    SKU id -> 数量
+     * @throws IllegalStateException 库存不足
+     */
+    public void reserve(String reservationId, Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("数量必须大于0: " + entry.getValue());
+            }
+        }
+        LocalDateTime expireAt = LocalDateTime.now().plus(properties.getReservationTtl());
+        if (!reservationRepository.insert(reservationId, expireAt)) {
+            throw new IllegalStateException("库存预占已存在: " + reservationId);
+        }
+        long expireAtMillis = System.currentTimeMillis() + properties.getReservationTtl().toMillis();
+
+        for (int attempt = 1; ; attempt++) {
+            Map<Long, Integer> hotItems = new LinkedHashMap<>();
+            Map<Long, Integer> dbItems = new LinkedHashMap<>();
+            quantities.forEach((skuId, quantity) ->
+                    (hotSkus.contains(skuId) ? hotItems : dbItems).put(skuId, quantity));
+
+            if (!hotItems.isEmpty()) {
+                HotSkuStockStore.ReserveOutcome outcome = stockStore.reserve(reservationId, hotItems, expireAtMillis);
+                switch (outcome.status()) {
+                    case DUPLICATE:
+                        throw new IllegalStateException("库存预占已存在: " + reservationId);
+                    case INSUFFICIENT:
+                        throw new IllegalStateException("库存不足，SKU: " + outcome.skuId());
+                    case NOT_LOADED:
+                        // Redis 中没有该 SKU 的库存：重新加载，或它已退回数据库
+                        if (!hotStockMaintenance.ensureSeeded(outcome.skuId())) {
+                            hotSkus.remove(outcome.skuId());
+                        }
+                        requireAttemptsLeft(attempt, reservationId);
+                        continue;
+                    default:
+                        break;
+                }
+            }
+
+            try {
+                stockMutationService.decreaseAll(dbItems);
+            } catch (HotStockException e) {
+                releaseHotPart(reservationId, hotItems);
+                hotSkus.addAll(e.getSkuIds());
+                requireAttemptsLeft(attempt, reservationId);
+                continue;
+            } catch (RuntimeException e) {
+                releaseHotPart(reservationId, hotItems);
+                throw e;
+            }
+
+            reservationRepository.insertItems(reservationId, hotItems, dbItems);
+            if (!hotItems.isEmpty()) {
+                releaseOnRollback(reservationId);
+            }
+            detectHotSkus(quantities.keySet());
+            return;
+        }
+    }
+
+    /**
+     * 确认预占（订单支付），库存保持扣减。重复确认视为成功。
+     *
+     * @return RELEASED 表示预占已过期或已释放；NOT_FOUND 表示从未预占过
+     */
+    public HotSkuStockStore.ConfirmOutcome confirm(String reservationId) {
+        if (!reservationRepository.complete(reservationId, ReservationStatus.CONFIRMED)) {
+            Optional<ReservationStatus> status = reservationRepository.findStatus(reservationId);
+            if (status.isEmpty()) {
+                return HotSkuStockStore.ConfirmOutcome.NOT_FOUND;
+            }
+            return status.get() == ReservationStatus.RELEASED
+                    ? HotSkuStockStore.ConfirmOutcome.RELEASED
+                    : HotSkuStockStore.ConfirmOutcome.CONFIRMED;
+        }
+        Map<Long, Integer> hotItems = new LinkedHashMap<>();
+        for (ReservationItem item : reservationRepository.findItems(reservationId)) {
+            if (item.hot()) {
+                hotItems.put(item.skuId(), item.quantity());
+            }
+        }
+        if (!hotItems.isEmpty()) {
+            confirmHotPartAfterCommit(reservationId, hotItems);
+        }
+        return HotSkuStockStore.ConfirmOutcome.CONFIRMED;
+    }
+
+    /**
+     * 直接扣减库存，不保留待确认的预占（用于没有预占记录的订单支付）。
+     * 预占与确认在同一事务内完成，外层事务回滚时全部归还。
+     *
+     * @throws IllegalStateException 库存不足
+     */
+    public void deduct(String reservationId, Map<Long, Integer> quantities) {
+        reserve(reservationId, quantities);
+        confirm(reservationId);
+    }
+
+    /**
+     * 释放预占（订单取消），归还全部库存
+     *
+     * @return 预占不存在（已确认或已释放）时返回 false
+     */
+    public boolean release(String reservationId) {
+        if (!reservationRepository.complete(reservationId, ReservationStatus.RELEASED)) {
+            return false;
+        }
+        Map<Long, Integer> hotItems = new LinkedHashMap<>();
+        Map<Long, Integer> dbItems = new LinkedHashMap<>();
+        for (ReservationItem item : reservationRepository.findItems(reservationId)) {
+            (item.hot() ? hotItems : dbItems).put(item.skuId(), item.quantity());
+        }
+        if (!hotItems.isEmpty() && stockStore.release(reservationId) == HotSkuStockStore.ReleaseOutcome.NOT_FOUND) {
+            // Redis 中的预占明细已丢失（如 Redis 重启），按数据库中的明细归还热点部分
+            logger.warn("Inventory reservation {} missing in Redis, returning hot stock from database record",
+                    reservationId);
+            returnHotStock(hotItems, dbItems);
+        }
+        returnStock(dbItems);
+        return true;
+    }
+
+    /**
+     * 处理到期未确认的预占
+     */
+    public void expire(String reservationId) {
+        if (release(reservationId)) {
+            eventPublisher.publishEvent(new ReservationExpiredEvent(reservationId));
+        }
+    }
+
+    /**
+     * 已到期仍待确认的预占单号
+     */
+    @Transactional(readOnly = true)
+    public List<String> findExpired(int limit) {
+        return reservationRepository.findExpired(LocalDateTime.now(), limit);
+    }
+
+    /**
+     * 人工调整热点SKU库存（INCREASE / DECREASE / SET），调整量随增量回写数据库
+     *
+     * @return 调整后的库存
+     */
+    public int adjustHotStock(Long skuId, int quantity, String operation) {
+        boolean absolute = "SET".equalsIgnoreCase(operation);
+        int value = "DECREASE".equalsIgnoreCase(operation) ? -quantity : quantity;
+        long stock = adjust(skuId, value, absolute);
+        if (stock == HotSkuStockStore.ADJUST_INSUFFICIENT) {
+            throw new IllegalStateException("库存不足，SKU: " + skuId);
+        }
+        return (int) stock;
+    }
+
+    /**
+     * 用 Redis 中的热点列表刷新本节点缓存
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshHotSkus() {
+        Set<Long> current = stockStore.hotSkuIds();
+        hotSkus.retainAll(current);
+        hotSkus.addAll(current);
+    }
+
+    public Set<Long> getHotSkus() {
+        return Collections.unmodifiableSet(hotSkus);
+    }
+
+    /**
+     * 异步升级热点，避免在下单请求中等待行锁
+     */
+    public void activateAsync(Long skuId) {
+        if (hotSkus.contains(skuId) || !activating.add(skuId)) {
+            return;
+        }
+        activationExecutor.execute(() -> {
+            try {
+                hotStockMaintenance.activate(skuId);
+                hotSkus.add(skuId);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to switch SKU {} to Redis hot stock", skuId, e);
+            } finally {
+                activating.remove(skuId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        activationExecutor.shutdownNow();
+    }
+
+    private void returnStock(Map<Long, Integer> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            stockMutationService.increaseAll(items);
+        } catch (HotStockException e) {
+            // 预占后 SKU 升级为热点，数据库部分改为归还到 Redis
+            Map<Long, Integer> remaining = new LinkedHashMap<>(items);
+            for (Long skuId : e.getSkuIds()) {
+                Integer quantity = remaining.remove(skuId);
+                if (quantity != null) {
+                    adjust(skuId, quantity, false);
+                    hotSkus.add(skuId);
+                }
+            }
+            returnStock(remaining);
+        }
+    }
+
+    /**
+     * 把热点部分加回 Redis 库存；已退出热点的 SKU 改为随数据库部分一起归还
+     */
+    private void returnHotStock(Map<Long, Integer> hotItems, Map<Long, Integer> dbItems) {
+        hotItems.forEach((skuId, quantity) -> {
+            long stock = stockStore.adjust(skuId, quantity, false);
+            if (stock == HotSkuStockStore.ADJUST_NOT_LOADED) {
+                if (hotStockMaintenance.ensureSeeded(skuId)) {
+                    stockStore.adjust(skuId, quantity, false);
+                } else {
+                    hotSkus.remove(skuId);
+                    dbItems.merge(skuId, quantity, Integer::sum);
+                }
+            }
+        });
+    }
+
+    private long adjust(Long skuId, int value, boolean absolute) {
+        long stock = stockStore.adjust(skuId, value, absolute);
+        if (stock == HotSkuStockStore.ADJUST_NOT_LOADED) {
+            if (!hotStockMaintenance.ensureSeeded(skuId)) {
+                hotSkus.remove(skuId);
+                throw new IllegalStateException("SKU已退出热点库存，请重试: " + skuId);
+            }
+            stock = stockStore.adjust(skuId, value, absolute);
+        }
+        return stock;
+    }
+
+    private void releaseHotPart(String reservationId, Map<Long, Integer> hotItems) {
+        if (!hotItems.isEmpty()) {
+            stockStore.release(reservationId);
+        }
+    }
+
+    /**
+     * 提交后清除 Redis 中的热点预占明细；失败只留下不会再被释放的记录，库存保持扣减。
+     * 取消事务在 Redis 释放后回滚时，Redis 中的热点部分已归还，这里重新扣回。
+     */
+    private void confirmHotPartAfterCommit(String reservationId, Map<Long, Integer> hotItems) {
+        Runnable confirm = () -> {
+            try {
+                if (stockStore.confirm(reservationId) == HotSkuStockStore.ConfirmOutcome.RELEASED) {
+                    hotItems.forEach((skuId, quantity) -> {
+                        if (stockStore.adjust(skuId, -quantity, false) < 0) {
+                            logger.error("Failed to deduct hot stock of SKU {} again for confirmed reservation {}",
+                                    skuId, reservationId);
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to clear confirmed inventory reservation {} in Redis", reservationId, e);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            confirm.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                confirm.run();
+            }
+        });
+    }
+
+    private void releaseOnRollback(String reservationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    // 数据库部分已随事务回滚，只需归还 Redis 中的热点部分
+                    stockStore.release(reservationId);
+                }
+            }
+        });
+    }
+
+    private void detectHotSkus(Set<Long> skuIds) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (Long skuId : skuIds) {
+            if (hotSkuDetector.record(skuId)) {
+                activateAsync(skuId);
+            }
+        }
+    }
+
+    private static void requireAttemptsLeft(int attempt, String reservationId) {
+        if (attempt >= MAX_ATTEMPTS) {
+            throw new IllegalStateException("热点库存切换中，预占失败，请重试: " + reservationId);
+        }
+    }
+}
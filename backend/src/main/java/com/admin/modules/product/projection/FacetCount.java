@@ -0,0 +1,7 @@
+package com.admin.modules.product.projection;
+
+/**
+ * 分面计数（GROUP BY 某一维度）
+ */
+public record FacetCount(String value, long count) {
+}
@@ -0,0 +1,7 @@
+package com.admin.modules.product.projection;
+
+/**
+ * 预占明细的一行；hot 表示预占时该 SKU 由 Redis 热点库存扣减
+ */
+public record ReservationItem(Long skuId, Integer quantity, boolean hot) {
+}
@@ -0,0 +1,18 @@
+package com.admin.modules.product.projection;
+
+import com.admin.modules.product.enums.ProductStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * 下单所需的 SKU 快照：SKU、所属商品名称与主图一次查询取回
+ */
+public record SkuOrderLine(Long skuId,
+                           Long productId,
+                           String productName,
+                           String skuName,
+                           BigDecimal price,
+                           String specifications,
+                           ProductStatus status,
+                           String productImage) {
+}
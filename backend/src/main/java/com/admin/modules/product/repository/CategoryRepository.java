@@ -5,6 +5,7 @@ import com.admin.modules.product.entity.Category.CategoryStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,4 +37,21 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Page<Category> searchCategories(@Param("keyword") String keyword, Pageable pageable);
     
     List<Category> findByParentId(Long parentId);
+    
+    boolean existsByParentId(Long parentId);
+    
+    /**
+     * 一次加载整棵分类树，按路径排序时父节点总在子节点之前
+     */
+    @Query("SELECT c FROM Category c ORDER BY c.path ASC")
+    List<Category> findAllForTree();
+    
+    /**
+     * 移动子树：把后代路径中的旧前缀替换为新前缀，并同步层级
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Category c SET c.path = CONCAT(:newPath, SUBSTRING(c.path, LENGTH(:oldPath) + 1)), " +
+           "c.level = c.level + :levelDelta WHERE c.path LIKE CONCAT(:oldPath, '%') AND c.path <> :oldPath")
+    int moveDescendants(@Param("oldPath") String oldPath, @Param("newPath") String newPath,
+                        @Param("levelDelta") int levelDelta);
 }
\ No newline at end of file
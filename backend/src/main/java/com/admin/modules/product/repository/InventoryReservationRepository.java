@@ -0,0 +1,87 @@
+package com.admin.modules.product.repository;
+
+import com.admin.modules.product.enums.ReservationStatus;
+import com.admin.modules.product.projection.ReservationItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 库存预占记录 inventory_reservations / inventory_reservation_items 的读写。
+ * 状态只按 RESERVED -> CONFIRMED / RELEASED 单向流转，条件更新保证并发的确认与释放只有一个生效。
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryReservationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 登记预占
+     *
+     * @return 单号已存在时返回 false
+     */
+    public boolean insert(String reservationId, LocalDateTime expireAt) {
+        return jdbcTemplate.update(
+                "INSERT INTO inventory_reservations (reservation_id, status, expire_at) VALUES (?, ?, ?) " +
+                "ON CONFLICT (reservation_id) DO NOTHING",
+                reservationId, ReservationStatus.RESERVED.name(), Timestamp.valueOf(expireAt)) > 0;
+    }
+
+    public void insertItems(String reservationId, Map<Long, Integer> hotItems, Map<Long, Integer> dbItems) {
+        List<Object[]> rows = new ArrayList<>();
+        hotItems.forEach((skuId, quantity) -> rows.add(new Object[]{reservationId, skuId, quantity, true}));
+        dbItems.forEach((skuId, quantity) -> rows.add(new Object[]{reservationId, skuId, quantity, false}));
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO inventory_reservation_items (reservation_id, sku_id, quantity, hot) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+
+    /**
+     * 把待确认的预占流转到指定状态
+     *
+     * @return 预占不存在或已不是 RESERVED 时返回 false
+     */
+    public boolean complete(String reservationId, ReservationStatus status) {
+        return jdbcTemplate.update(
+                "UPDATE inventory_reservations SET status = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE reservation_id = ? AND status = ?",
+                status.name(), reservationId, ReservationStatus.RESERVED.name()) > 0;
+    }
+
+    public Optional<ReservationStatus> findStatus(String reservationId) {
+        return jdbcTemplate.queryForList(
+                        "SELECT status FROM inventory_reservations WHERE reservation_id = ?",
+                        String.class, reservationId)
+                .stream()
+                .findFirst()
+                .map(ReservationStatus::valueOf);
+    }
+
+    public List<ReservationItem> findItems(String reservationId) {
+        return jdbcTemplate.query(
+                "SELECT sku_id, quantity, hot FROM inventory_reservation_items WHERE reservation_id = ? ORDER BY sku_id",
+                (rs, rowNum) -> new ReservationItem(rs.getLong("sku_id"), rs.getInt("quantity"), rs.getBoolean("hot")),
+                reservationId);
+    }
+
+    /**
+     * 已到期仍待确认的预占单号，按过期时间升序
+     */
+    public List<String> findExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT reservation_id FROM inventory_reservations WHERE status = ? AND expire_at <= ? " +
+                "ORDER BY expire_at LIMIT ?",
+                String.class, ReservationStatus.RESERVED.name(), Timestamp.valueOf(now), limit);
+    }
+}
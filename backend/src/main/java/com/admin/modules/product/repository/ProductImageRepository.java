@@ -4,9 +4,12 @@ import com.admin.modules.product.entity.ProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
     List<ProductImage> findByProductId(Long productId);
+    
+    List<ProductImage> findByProductIdIn(Collection<Long> productIds);
 }
\ No newline at end of file
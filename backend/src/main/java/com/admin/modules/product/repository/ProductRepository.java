@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,13 +30,42 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     boolean existsByCodeAndIdNot(String code, Long id);
     
-    @Query("SELECT p FROM Product p WHERE p.name LIKE %:keyword% OR p.code LIKE %:keyword% OR p.brand LIKE %:keyword%")
-    Page<Product> searchProducts(@Param("keyword") String keyword, Pageable pageable);
-    
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.name LIKE %:keyword%")
     Page<Product> searchProductsByCategory(@Param("categoryId") Long categoryId, @Param("keyword") String keyword, Pageable pageable);
     
+    @Query("SELECT DISTINCT p FROM Product p JOIN p.skus s WHERE s.stock <= s.warningStock")
+    List<Product> findWithLowStockSkus();
+    
+    /**
+     * 分类及其全部后代下的商品，categoryPath 为分类的物化路径
+     */
+    @Query("SELECT p FROM Product p JOIN p.category c WHERE p.isDeleted = false AND p.status = :status " +
+           "AND c.path LIKE CONCAT(:categoryPath, '%') ORDER BY p.createdAt DESC")
+    List<Product> findInCategorySubtree(@Param("categoryPath") String categoryPath, @Param("status") ProductStatus status);
+    
     List<Product> findByIsDeletedFalse();
     
     List<Product> findByIsDeletedFalseAndStatus(ProductStatus status);
+
+    /**
+     * 键集分页第一页：按 (created_at, id) 倒序
+     */
+    @Query("SELECT p FROM Product p WHERE p.isDeleted = false ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findActiveFirstPage(Pageable pageable);
+    
+    /**
+     * 键集分页：从游标之后继续，走 (created_at, id) 复合索引，不需要 OFFSET
+     */
+    @Query("SELECT p FROM Product p WHERE p.isDeleted = false AND (p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findActivePageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    /**
+     * 联想索引全量构建：按 id 顺序分批读取在售商品
+     */
+    @Query("SELECT p FROM Product p WHERE p.isDeleted = false AND p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<Product> findByStatusAfterId(@Param("status") ProductStatus status, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT p.id FROM Product p WHERE p.updatedAt > :since")
+    List<Long> findIdsUpdatedAfter(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.admin.modules.product.repository;
+
+import com.admin.modules.product.dto.ProductSearchCriteria;
+import com.admin.modules.product.projection.FacetCount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 商品搜索：search_text 为 name/code/brand 的小写拼接（生成列，随商品写入自动更新），
+ * 上面建有 pg_trgm GIN 索引，LIKE '%关键字%' 可走索引，对中文名称同样有效。
+ * 结果按 word_similarity 排序，相似度相同时新商品在前。
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductSearchRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * @return 当前页的商品 id，按相关度排序
+     */
+    public List<Long> searchIds(ProductSearchCriteria criteria, int offset, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = whereClause(criteria, parameters, null);
+        String orderBy = hasKeyword(criteria)
+                ? "ORDER BY word_similarity(:keyword, p.search_text) DESC, p.created_at DESC, p.id DESC"
+                : "ORDER BY p.created_at DESC, p.id DESC";
+        if (hasKeyword(criteria)) {
+            parameters.put("keyword", normalize(criteria.getKeyword()));
+        }
+
+        Query query = entityManager.createNativeQuery(
+                        "SELECT p.id FROM products p " + where + " " + orderBy + " OFFSET :offset LIMIT :limit")
+                .setParameter("offset", offset)
+                .setParameter("limit", limit);
+        parameters.forEach(query::setParameter);
+
+        List<Long> ids = new ArrayList<>();
+        for (Object id : query.getResultList()) {
+            ids.add(((Number) id).longValue());
+        }
+        return ids;
+    }
+
+    public long count(ProductSearchCriteria criteria) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        Query query = entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM products p " + whereClause(criteria, parameters, null));
+        parameters.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    /**
+     * 按分类计数，忽略分类筛选
+     */
+    public List<FacetCount> countByCategory(ProductSearchCriteria criteria) {
+        return facet("CAST(p.category_id AS varchar)", criteria, "category");
+    }
+
+    /**
+     * 按状态计数，忽略状态筛选
+     */
+    public List<FacetCount> countByStatus(ProductSearchCriteria criteria) {
+        return facet("p.status", criteria, "status");
+    }
+
+    private List<FacetCount> facet(String column, ProductSearchCriteria criteria, String excludedFilter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        Query query = entityManager.createNativeQuery(
+                "SELECT " + column + ", COUNT(*) FROM products p " + whereClause(criteria, parameters, excludedFilter) +
+                " GROUP BY " + column + " ORDER BY COUNT(*) DESC");
+        parameters.forEach(query::setParameter);
+
+        List<FacetCount> counts = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] values = (Object[]) row;
+            counts.add(new FacetCount(String.valueOf(values[0]), ((Number) values[1]).longValue()));
+        }
+        return counts;
+    }
+
+    private String whereClause(ProductSearchCriteria criteria, Map<String, Object> parameters,
+                               String excludedFilter) {
+        StringBuilder where = new StringBuilder("WHERE p.is_deleted = FALSE");
+        if (hasKeyword(criteria)) {
+            where.append(" AND p.search_text LIKE :pattern ESCAPE '\\'");
+            parameters.put("pattern", "%" + escapeLike(normalize(criteria.getKeyword())) + "%");
+        }
+        if (criteria.getCategoryId() != null && !"category".equals(excludedFilter)) {
+            if (criteria.isIncludeDescendants()) {
+                // 后代分类的路径以该分类的路径为前缀；先取出路径作为字面前缀绑定，LIKE 才能走 categories.path 索引
+                String categoryPath = findCategoryPath(criteria.getCategoryId());
+                if (categoryPath == null) {
+                    where.append(" AND FALSE");
+                } else {
+                    where.append(" AND p.category_id IN (SELECT c.id FROM categories c" +
+                            " WHERE c.path LIKE :categoryPath ESCAPE '\\')");
+                    parameters.put("categoryPath", escapeLike(categoryPath) + "%");
+                }
+            } else {
+                where.append(" AND p.category_id = :categoryId");
+                parameters.put("categoryId", criteria.getCategoryId());
+            }
+        }
+        if (criteria.getStatus() != null && !criteria.getStatus().isBlank() && !"status".equals(excludedFilter)) {
+            where.append(" AND p.status = :status");
+            parameters.put("status", criteria.getStatus().toUpperCase());
+        }
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM skus s WHERE s.product_id = p.id");
+            if (criteria.getMinPrice() != null) {
+                where.append(" AND s.price >= :minPrice");
+                parameters.put("minPrice", criteria.getMinPrice());
+            }
+            if (criteria.getMaxPrice() != null) {
+                where.append(" AND s.price <= :maxPrice");
+                parameters.put("maxPrice", criteria.getMaxPrice());
+            }
+            where.append(")");
+        }
+        return where.toString();
+    }
+
+    private String findCategoryPath(Long categoryId) {
+        List<?> paths = entityManager.createNativeQuery("SELECT path FROM categories WHERE id = :categoryId")
+                .setParameter("categoryId", categoryId)
+                .getResultList();
+        return paths.isEmpty() ? null : (String) paths.get(0);
+    }
+
+    private static boolean hasKeyword(ProductSearchCriteria criteria) {
+        return criteria.getKeyword() != null && !criteria.getKeyword().isBlank();
+    }
+
+    private static String normalize(String keyword) {
+        return keyword.trim().toLowerCase();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
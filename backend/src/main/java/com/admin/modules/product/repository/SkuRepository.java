@@ -1,11 +1,14 @@
 package com.admin.modules.product.repository;
 
 import com.admin.modules.product.entity.Sku;
+import com.admin.modules.product.projection.SkuOrderLine;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +19,8 @@ public interface SkuRepository extends JpaRepository<Sku, Long> {
     
     List<Sku> findByProductId(Long productId);
     
+    List<Sku> findByProductIdIn(Collection<Long> productIds);
+    
     List<Sku> findByProductIdAndStatus(Long productId, String status);
     
     boolean existsBySkuCode(String skuCode);
@@ -29,4 +34,18 @@ public interface SkuRepository extends JpaRepository<Sku, Long> {
     
     @Query("SELECT s FROM Sku s WHERE s.stock <= s.warningStock")
     List<Sku> findAllLowStockSkus();
-}
\ No newline at end of file
+    
+    /**
+     * 批量加载下单用的 SKU 快照，主图优先取 is_main，没有时取排序最靠前的图片
+     */
+    @Query("SELECT new com.admin.modules.product.projection.SkuOrderLine(" +
+           "s.id, p.id, p.name, s.name, s.price, s.specifications, s.status, " +
+           "COALESCE((SELECT MIN(i.url) FROM ProductImage i WHERE i.product = p AND i.isMain = true), " +
+           "(SELECT MIN(i2.url) FROM ProductImage i2 WHERE i2.product = p AND i2.sortOrder = " +
+           "(SELECT MIN(i3.sortOrder) FROM ProductImage i3 WHERE i3.product = p)))) " +
+           "FROM Sku s JOIN s.product p WHERE s.id IN :ids ORDER BY s.id")
+    List<SkuOrderLine> findOrderLinesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT DISTINCT s.product.id FROM Sku s WHERE s.updatedAt > :since")
+    List<Long> findProductIdsUpdatedAfter(@Param("since") LocalDateTime since);
+}
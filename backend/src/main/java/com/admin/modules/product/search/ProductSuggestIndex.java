@@ -0,0 +1,239 @@
+package com.admin.modules.product.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 进程内商品联想索引：二元组（bigram）倒排表，不依赖分词，中文名称与编码、条码统一处理。
+ * 查询至少两个字符；单字的倒排表几乎覆盖全部商品，求交与校验都退化为全量扫描。
+ * <p>
+ * 查询时先用二元组倒排表求交得到候选，再校验子串匹配并打分（前缀 > 包含，名称 > 编码 > 品牌 > 条码）；
+ * 没有精确结果时按二元组重合度（Dice 系数）做模糊匹配，容忍个别错字。
+ */
+public class ProductSuggestIndex {
+
+    // 查询的最少字符数
+    private static final int MIN_QUERY_LENGTH = 2;
+
+    // 模糊匹配要求的最低二元组重合比例
+    private static final double FUZZY_MIN_OVERLAP = 0.6;
+
+    private final Map<Long, SuggestEntry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Suggestion(SuggestEntry entry, double score) {
+    }
+
+    public void put(SuggestEntry entry) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(entry.productId());
+            entries.put(entry.productId(), entry);
+            for (String gram : entryGrams(entry)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.productId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 整体替换索引内容（启动时全量构建或从快照加载）
+     */
+    public void replaceAll(Collection<SuggestEntry> newEntries) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            postings.clear();
+            for (SuggestEntry entry : newEntries) {
+                entries.put(entry.productId(), entry);
+                for (String gram : entryGrams(entry)) {
+                    postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.productId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SuggestEntry> entries() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entries.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH || limit <= 0) {
+            return List.of();
+        }
+        Set<String> queryGrams = bigrams(normalized);
+
+        lock.readLock().lock();
+        try {
+            List<Suggestion> results = new ArrayList<>();
+            for (Long productId : intersect(queryGrams)) {
+                SuggestEntry entry = entries.get(productId);
+                double score = exactScore(entry, normalized);
+                if (score > 0) {
+                    results.add(new Suggestion(entry, score));
+                }
+            }
+            if (results.isEmpty() && normalized.length() >= 3) {
+                results.addAll(fuzzy(queryGrams));
+            }
+
+            results.sort(Comparator.comparingDouble(Suggestion::score).reversed()
+                    .thenComparingInt(suggestion -> suggestion.entry().name().length())
+                    .thenComparing(suggestion -> suggestion.entry().productId()));
+            return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> intersect(Set<String> grams) {
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new LinkedHashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private List<Suggestion> fuzzy(Set<String> queryGrams) {
+        Map<Long, Integer> overlaps = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                for (Long id : ids) {
+                    overlaps.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+        int required = (int) Math.ceil(queryGrams.size() * FUZZY_MIN_OVERLAP);
+        List<Suggestion> results = new ArrayList<>();
+        overlaps.forEach((productId, overlap) -> {
+            if (overlap < required) {
+                return;
+            }
+            SuggestEntry entry = entries.get(productId);
+            double best = 0;
+            for (String field : entry.fields()) {
+                if (field != null) {
+                    best = Math.max(best, dice(queryGrams, bigrams(normalize(field))));
+                }
+            }
+            if (best > 0) {
+                results.add(new Suggestion(entry, best * 10));
+            }
+        });
+        return results;
+    }
+
+    private static double exactScore(SuggestEntry entry, String normalized) {
+        List<String> fields = entry.fields();
+        double best = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            String field = normalize(fields.get(i));
+            int position = field.indexOf(normalized);
+            if (position < 0) {
+                continue;
+            }
+            double fieldWeight = 4 - Math.min(i, 3);
+            double score = (position == 0 ? 100 : 50) + fieldWeight * 10
+                    + (field.length() == normalized.length() ? 5 : 0);
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+
+    private static double dice(Set<String> left, Set<String> right) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String gram : left) {
+            if (right.contains(gram)) {
+                common++;
+            }
+        }
+        return 2.0 * common / (left.size() + right.size());
+    }
+
+    private void removeInternal(Long productId) {
+        SuggestEntry previous = entries.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : entryGrams(previous)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(productId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> entryGrams(SuggestEntry entry) {
+        Set<String> grams = new HashSet<>();
+        for (String field : entry.fields()) {
+            grams.addAll(bigrams(normalize(field)));
+        }
+        return grams;
+    }
+
+    private static Set<String> bigrams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= value.length(); i++) {
+            grams.add(value.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,323 @@
+package com.admin.modules.product.search;
+
+import com.admin.common.datasource.ConnectionPool;
+import com.admin.modules.product.dto.ProductSuggestionDto;
+import com.admin.modules.product.entity.Product;
+import com.admin.modules.product.entity.Sku;
+import com.admin.modules.product.enums.ProductStatus;
+import com.admin.modules.product.event.ProductChangedEvent;
+import com.admin.modules.product.repository.ProductRepository;
+import com.admin.modules.product.repository.SkuRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 商品联想：维护进程内的 {@link ProductSuggestIndex}。
+ * <p>
+ * 启动时优先加载本地快照，再按 updated_at 追上快照之后的变更；没有可用快照时分批全量构建。
+ * 本节点的商品变更在事务提交后立即更新索引，其他节点的变更由定时同步追上。
+ * 索引有变更时定期写回快照，停机时再写一次。
+ */
+@ConnectionPool(ConnectionPool.BACKGROUND)
+@Service
+public class ProductSuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestService.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x50534958;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int BUILD_BATCH_SIZE = 500;
+    private static final int MAX_LIMIT = 20;
+    // 增量同步的回看窗口，覆盖节点间时钟偏差和提交较慢的事务
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(5);
+
+    private final ProductRepository productRepository;
+    private final SkuRepository skuRepository;
+    private final boolean enabled;
+    private final Path indexPath;
+
+    private final ProductSuggestIndex index = new ProductSuggestIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // 串行化构建、同步与写快照；用 ReentrantLock 而非 synchronized，持锁做 JDBC/文件 IO 时不会钉住虚拟线程
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private volatile boolean ready;
+    // 已同步到索引的数据库变更时间点
+    private volatile LocalDateTime checkpoint;
+
+    public ProductSuggestService(ProductRepository productRepository,
+                                 SkuRepository skuRepository,
+                                 @Value("${app.product.suggest.enabled:true}") boolean enabled,
+                                 @Value("${app.product.suggest.index-path:data/product-suggest.idx}") String indexPath) {
+        this.productRepository = productRepository;
+        this.skuRepository = skuRepository;
+        this.enabled = enabled;
+        this.indexPath = Paths.get(indexPath);
+    }
+
+    /**
+     * @return 按匹配度排序的商品；索引尚未就绪时返回空列表
+     */
+    public List<ProductSuggestionDto> suggest(String query, int limit) {
+        if (!ready) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return index.suggest(query, size).stream()
+                .map(suggestion -> {
+                    SuggestEntry entry = suggestion.entry();
+                    return new ProductSuggestionDto(entry.productId(), entry.name(), entry.code(), entry.brand(),
+                            suggestion.score());
+                })
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        maintenanceLock.lock();
+        try {
+            if (!loadSnapshot()) {
+                rebuild();
+            }
+            ready = true;
+            logger.info("Product suggest index ready with {} products", index.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to build product suggest index", e);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        try {
+            reindex(List.of(event.productId()));
+        } catch (RuntimeException e) {
+            // 定时同步会追上这次变更
+            logger.warn("Failed to update product suggest index for product {}", event.productId(), e);
+        }
+    }
+
+    /**
+     * 追上其他节点的商品变更
+     */
+    @Scheduled(fixedDelayString = "${app.product.suggest.sync-interval:30s}")
+    public void sync() {
+        if (!ready) {
+            return;
+        }
+        maintenanceLock.lock();
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to sync product suggest index", e);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.product.suggest.snapshot-interval:5m}")
+    public void saveSnapshotIfDirty() {
+        if (ready && dirty.get()) {
+            saveSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshotIfDirty();
+    }
+
+    private void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<SuggestEntry> entries = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<Product> products = productRepository.findByStatusAfterId(
+                    ProductStatus.ACTIVE, afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            if (products.isEmpty()) {
+                break;
+            }
+            Map<Long, List<Sku>> skus = loadSkus(products.stream().map(Product::getId).collect(Collectors.toList()));
+            for (Product product : products) {
+                entries.add(toEntry(product, skus.getOrDefault(product.getId(), List.of())));
+            }
+            afterId = products.get(products.size() - 1).getId();
+        }
+        index.replaceAll(entries);
+        checkpoint = startedAt;
+        dirty.set(true);
+        logger.info("Built product suggest index from database: {} products", entries.size());
+    }
+
+    private void catchUp() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = checkpoint.minus(SYNC_OVERLAP);
+        Set<Long> productIds = new LinkedHashSet<>(productRepository.findIdsUpdatedAfter(since));
+        productIds.addAll(skuRepository.findProductIdsUpdatedAfter(since));
+        if (!productIds.isEmpty()) {
+            reindex(productIds);
+        }
+        checkpoint = startedAt;
+    }
+
+    private void reindex(Collection<Long> productIds) {
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, List<Sku>> skus = loadSkus(products.keySet());
+        for (Long productId : productIds) {
+            Product product = products.get(productId);
+            if (product == null || Boolean.TRUE.equals(product.getIsDeleted())
+                    || product.getStatus() != ProductStatus.ACTIVE) {
+                index.remove(productId);
+            } else {
+                index.put(toEntry(product, skus.getOrDefault(productId, List.of())));
+            }
+        }
+        dirty.set(true);
+    }
+
+    private Map<Long, List<Sku>> loadSkus(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return skuRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.groupingBy(sku -> sku.getProduct().getId()));
+    }
+
+    private static SuggestEntry toEntry(Product product, List<Sku> skus) {
+        List<String> barcodes = skus.stream()
+                .map(Sku::getBarcode)
+                .filter(barcode -> barcode != null && !barcode.isBlank())
+                .distinct()
+                .collect(Collectors.toList());
+        return new SuggestEntry(product.getId(), product.getName(), product.getCode(), product.getBrand(), barcodes);
+    }
+
+    /**
+     * 加载本地快照并追上之后的变更
+     *
+     * @return 快照不存在、版本不符或损坏时返回 false
+     */
+    private boolean loadSnapshot() {
+        if (!Files.isRegularFile(indexPath)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                logger.info("Ignoring product suggest snapshot {} with unknown format", indexPath);
+                return false;
+            }
+            LocalDateTime snapshotCheckpoint = LocalDateTime.parse(in.readUTF());
+            int count = in.readInt();
+            List<SuggestEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long productId = in.readLong();
+                String name = readNullable(in);
+                String code = readNullable(in);
+                String brand = readNullable(in);
+                int barcodeCount = in.readInt();
+                List<String> barcodes = new ArrayList<>(barcodeCount);
+                for (int j = 0; j < barcodeCount; j++) {
+                    barcodes.add(in.readUTF());
+                }
+                entries.add(new SuggestEntry(productId, name, code, brand, barcodes));
+            }
+            index.replaceAll(entries);
+            checkpoint = snapshotCheckpoint;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load product suggest snapshot {}, rebuilding", indexPath, e);
+            return false;
+        }
+        catchUp();
+        logger.info("Loaded product suggest snapshot {} ({} products)", indexPath, index.size());
+        return true;
+    }
+
+    /**
+     * 先写临时文件再原子替换，避免停机时留下半个快照
+     */
+    private void saveSnapshot() {
+        maintenanceLock.lock();
+        try {
+            dirty.set(false);
+            LocalDateTime snapshotCheckpoint = checkpoint;
+            List<SuggestEntry> entries = index.entries();
+            try {
+                Path directory = indexPath.toAbsolutePath().getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
+                Path temp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(SNAPSHOT_MAGIC);
+                    out.writeInt(SNAPSHOT_VERSION);
+                    out.writeUTF(snapshotCheckpoint.toString());
+                    out.writeInt(entries.size());
+                    for (SuggestEntry entry : entries) {
+                        out.writeLong(entry.productId());
+                        writeNullable(out, entry.name());
+                        writeNullable(out, entry.code());
+                        writeNullable(out, entry.brand());
+                        out.writeInt(entry.barcodes().size());
+                        for (String barcode : entry.barcodes()) {
+                            out.writeUTF(barcode);
+                        }
+                    }
+                }
+                Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                dirty.set(true);
+                logger.warn("Failed to write product suggest snapshot {}", indexPath, e);
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
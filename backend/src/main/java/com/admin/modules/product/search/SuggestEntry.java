@@ -0,0 +1,22 @@
+package com.admin.modules.product.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 联想索引中的一条商品记录
+ */
+public record SuggestEntry(Long productId, String name, String code, String brand, List<String> barcodes) {
+
+    /**
+     * 参与匹配的字段，按权重从高到低：名称、编码、品牌、条码
+     */
+    List<String> fields() {
+        List<String> fields = new ArrayList<>(3 + barcodes.size());
+        fields.add(name);
+        fields.add(code);
+        fields.add(brand);
+        fields.addAll(barcodes);
+        return fields;
+    }
+}
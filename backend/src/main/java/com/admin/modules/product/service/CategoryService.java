@@ -2,6 +2,8 @@ package com.admin.modules.product.service;
 
 import com.admin.common.exception.BadRequestException;
 import com.admin.common.exception.ResourceNotFoundException;
+import com.admin.modules.product.category.CategoryTree;
+import com.admin.modules.product.category.CategoryTreeCache;
 import com.admin.modules.product.dto.CategoryCreateRequest;
 import com.admin.modules.product.dto.CategoryDto;
 import com.admin.modules.product.entity.Category;
@@ -21,6 +23,9 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
     @Cacheable(value = "categories", key = "'all'")
     public List<CategoryDto> getAllCategories() {
         return categoryRepository.findAllByOrderBySortOrderAsc()
@@ -29,11 +34,10 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(value = "categories", key = "'tree'")
     public List<CategoryDto> getCategoryTree() {
-        List<Category> rootCategories = categoryRepository.findByParentIsNullOrderBySortOrderAsc();
-        return rootCategories.stream()
-                .map(this::convertToDtoWithChildren)
+        CategoryTree tree = categoryTreeCache.get();
+        return tree.roots().stream()
+                .map(root -> convertToDtoWithChildren(tree, root))
                 .collect(Collectors.toList());
     }
 
@@ -60,7 +64,9 @@ public class CategoryService {
             category.setParent(parent);
         }
 
+        // 路径与层级由 Category 在插入时按父分类维护
         Category savedCategory = categoryRepository.save(category);
+        categoryTreeCache.invalidateAfterCommit();
         return convertToDto(savedCategory);
     }
 
@@ -76,15 +82,28 @@ public class CategoryService {
         category.setSortOrder(request.getSortOrder());
         category.setStatus(request.getStatus());
         
+        Category parent = null;
         if (request.getParentId() != null) {
-            Category parent = categoryRepository.findById(request.getParentId())
+            parent = categoryRepository.findById(request.getParentId())
                     .orElseThrow(() -> new ResourceNotFoundException("父分类不存在"));
-            category.setParent(parent);
-        } else {
-            category.setParent(null);
+            if (parent.getPath().startsWith(category.getPath())) {
+                throw new BadRequestException("不能将分类移动到自身或其子分类下");
+            }
         }
+        category.setParent(parent);
+
+        String oldPath = category.getPath();
+        String newPath = childPath(parent, category.getId());
+        int levelDelta = (parent != null ? parent.getLevel() + 1 : 1) - category.getLevel();
+        category.setPath(newPath);
+        category.setLevel(category.getLevel() + levelDelta);
 
         Category updatedCategory = categoryRepository.save(category);
+        if (!newPath.equals(oldPath)) {
+            // 子树整体平移，一条语句改写全部后代的路径
+            categoryRepository.moveDescendants(oldPath, newPath, levelDelta);
+        }
+        categoryTreeCache.invalidateAfterCommit();
         return convertToDto(updatedCategory);
     }
 
@@ -94,11 +113,12 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("分类不存在"));
         
-        if (!category.getChildren().isEmpty()) {
+        if (categoryRepository.existsByParentId(id)) {
             throw new BadRequestException("该分类下有子分类，无法删除");
         }
         
         categoryRepository.delete(category);
+        categoryTreeCache.invalidateAfterCommit();
     }
 
     private CategoryDto convertToDto(Category category) {
@@ -113,14 +133,25 @@ public class CategoryService {
         return dto;
     }
 
-    private CategoryDto convertToDtoWithChildren(Category category) {
-        CategoryDto dto = convertToDto(category);
-        if (!category.getChildren().isEmpty()) {
-            List<CategoryDto> children = category.getChildren().stream()
-                    .map(this::convertToDtoWithChildren)
-                    .collect(Collectors.toList());
-            dto.setChildren(children);
+    private CategoryDto convertToDtoWithChildren(CategoryTree tree, CategoryTree.Node node) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(node.id());
+        dto.setName(node.name());
+        dto.setCode(node.code());
+        dto.setDescription(node.description());
+        dto.setImageUrl(node.imageUrl());
+        dto.setSortOrder(node.sortOrder());
+        dto.setStatus(node.status() != null ? node.status().name() : null);
+        dto.setParentId(node.parentId());
+        if (!node.childIds().isEmpty()) {
+            dto.setChildren(tree.children(node.id()).stream()
+                    .map(child -> convertToDtoWithChildren(tree, child))
+                    .collect(Collectors.toList()));
         }
         return dto;
     }
+
+    private static String childPath(Category parent, Long id) {
+        return (parent != null ? parent.getPath() : "/") + id + "/";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.admin.modules.product.service;
+
+import java.util.Set;
+
+/**
+ * 数据库侧库存操作命中了由 Redis 预占层管理的热点SKU，抛出时数据库未做任何修改
+ */
+public class HotStockException extends RuntimeException {
+
+    private final Set<Long> skuIds;
+
+    public HotStockException(Set<Long> skuIds) {
+        super("SKU库存由热点预占层管理: " + skuIds);
+        this.skuIds = skuIds;
+    }
+
+    public Set<Long> getSkuIds() {
+        return skuIds;
+    }
+}
@@ -2,9 +2,12 @@ package com.admin.modules.product.service;
 
 import com.admin.modules.product.dto.SkuDto;
 import com.admin.modules.product.entity.Sku;
+import com.admin.modules.product.inventory.InventoryReservationService;
 import com.admin.modules.product.repository.SkuRepository;
 import com.admin.common.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,30 +20,28 @@ import java.util.stream.Collectors;
 public class InventoryService {
     
     private final SkuRepository skuRepository;
+    private final StockMutationService stockMutationService;
+    private final InventoryReservationService inventoryReservationService;
+    private final CacheManager cacheManager;
     
     public SkuDto updateStock(Long skuId, Integer quantity, String operation) {
+        // 库存变更在数据库内原子完成，并发扣减不会丢失更新或超卖
+        Integer hotStock = null;
+        try {
+            applyStockChange(skuId, quantity, operation);
+        } catch (HotStockException e) {
+            // 热点SKU的库存在 Redis 中，调整量随增量异步回写数据库
+            hotStock = inventoryReservationService.adjustHotStock(skuId, quantity, operation);
+        }
+        
         Sku sku = skuRepository.findById(skuId)
                 .orElseThrow(() -> new ResourceNotFoundException("SKU不存在: " + skuId));
-        
-        switch (operation.toUpperCase()) {
-            case "INCREASE":
-                sku.setStock(sku.getStock() + quantity);
-                break;
-            case "DECREASE":
-                if (sku.getStock() < quantity) {
-                    throw new IllegalStateException("库存不足，当前库存: " + sku.getStock());
-                }
-                sku.setStock(sku.getStock() - quantity);
-                break;
-            case "SET":
-                sku.setStock(quantity);
-                break;
-            default:
-                throw new IllegalArgumentException("无效的操作类型: " + operation);
+        evictProductDetail(sku);
+        SkuDto dto = convertToDto(sku);
+        if (hotStock != null) {
+            dto.setStock(hotStock);
         }
-        
-        sku = skuRepository.save(sku);
-        return convertToDto(sku);
+        return dto;
     }
     
     public SkuDto updateWarningStock(Long skuId, Integer warningStock) {
@@ -49,6 +50,7 @@ public class InventoryService {
         
         sku.setWarningStock(warningStock);
         sku = skuRepository.save(sku);
+        evictProductDetail(sku);
         return convertToDto(sku);
     }
     
@@ -73,6 +75,30 @@ public class InventoryService {
                 .sum();
     }
     
+    private void applyStockChange(Long skuId, Integer quantity, String operation) {
+        switch (operation.toUpperCase()) {
+            case "INCREASE":
+                stockMutationService.increase(skuId, quantity);
+                break;
+            case "DECREASE":
+                stockMutationService.decrease(skuId, quantity);
+                break;
+            case "SET":
+                stockMutationService.set(skuId, quantity);
+                break;
+            default:
+                throw new IllegalArgumentException("无效的操作类型: " + operation);
+        }
+    }
+    
+    private void evictProductDetail(Sku sku) {
+        // 库存是商品详情的一部分，只失效该 SKU 所属商品（事务提交后执行）
+        Cache cache = cacheManager.getCache(ProductService.PRODUCT_DETAIL_CACHE);
+        if (cache != null) {
+            cache.evict(sku.getProduct().getId());
+        }
+    }
+    
     private SkuDto convertToDto(Sku sku) {
         SkuDto dto = new SkuDto();
         dto.setId(sku.getId());
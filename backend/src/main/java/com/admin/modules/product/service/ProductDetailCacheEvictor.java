@@ -0,0 +1,27 @@
+package com.admin.modules.product.service;
+
+import com.admin.modules.product.event.StockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 库存是商品详情的一部分：下单、预占、释放、热点增量回写等任何库存变更都失效所属商品的详情缓存。
+ * 在发布事件的事务内同步调用，缓存是事务感知的，失效动作在提交后才真正执行。
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductDetailCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        Cache cache = cacheManager.getCache(ProductService.PRODUCT_DETAIL_CACHE);
+        if (cache != null) {
+            cache.evict(event.productId());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.admin.modules.product.service;
+
+import com.admin.modules.product.dto.ProductAttributeDto;
+import com.admin.modules.product.dto.ProductDto;
+import com.admin.modules.product.dto.ProductImageDto;
+import com.admin.modules.product.dto.SkuDto;
+import com.admin.modules.product.entity.Category;
+import com.admin.modules.product.entity.Product;
+import com.admin.modules.product.entity.ProductAttribute;
+import com.admin.modules.product.entity.ProductImage;
+import com.admin.modules.product.entity.Sku;
+import com.admin.modules.product.repository.CategoryRepository;
+import com.admin.modules.product.repository.ProductAttributeRepository;
+import com.admin.modules.product.repository.ProductImageRepository;
+import com.admin.modules.product.repository.SkuRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 商品DTO批量组装：一页商品的SKU、图片、属性、分类各用一次 IN 查询加载后在内存中拼装，
+ * 查询次数与商品数量无关。
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductDtoAssembler {
+
+    private final CategoryRepository categoryRepository;
+    private final SkuRepository skuRepository;
+    private final ProductImageRepository productImageRepository;
+    private final ProductAttributeRepository productAttributeRepository;
+
+    public ProductDto toDto(Product product) {
+        return toDtos(List.of(product)).get(0);
+    }
+
+    public Page<ProductDto> toDtoPage(Page<Product> page) {
+        return new PageImpl<>(toDtos(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    public List<ProductDto> toDtos(List<Product> products) {
+        if (products.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> productIds = new LinkedHashSet<>();
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        for (Product product : products) {
+            productIds.add(product.getId());
+            if (product.getCategory() != null) {
+                // 懒加载代理取 id 不会触发查询
+                categoryIds.add(product.getCategory().getId());
+            }
+        }
+
+        Map<Long, List<Sku>> skusByProduct = new HashMap<>();
+        for (Sku sku : skuRepository.findByProductIdIn(productIds)) {
+            skusByProduct.computeIfAbsent(sku.getProduct().getId(), id -> new ArrayList<>()).add(sku);
+        }
+
+        Map<Long, List<ProductImage>> imagesByProduct = new HashMap<>();
+        for (ProductImage image : productImageRepository.findByProductIdIn(productIds)) {
+            imagesByProduct.computeIfAbsent(image.getProduct().getId(), id -> new ArrayList<>()).add(image);
+        }
+
+        Map<Long, List<ProductAttribute>> attributesByProduct = new HashMap<>();
+        for (ProductAttribute attribute : productAttributeRepository.findByProductIdIn(productIds)) {
+            attributesByProduct.computeIfAbsent(attribute.getProduct().getId(), id -> new ArrayList<>()).add(attribute);
+        }
+
+        Map<Long, Category> categories = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            for (Category category : categoryRepository.findAllById(categoryIds)) {
+                categories.put(category.getId(), category);
+            }
+        }
+
+        List<ProductDto> dtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductDto dto = toBaseDto(product);
+
+            // 设置分类信息
+            if (product.getCategory() != null) {
+                Category category = categories.get(product.getCategory().getId());
+                dto.setCategoryId(product.getCategory().getId());
+                dto.setCategoryName(category != null ? category.getName() : null);
+            }
+
+            // 设置SKU列表
+            List<SkuDto> skuDtos = new ArrayList<>();
+            for (Sku sku : skusByProduct.getOrDefault(product.getId(), Collections.emptyList())) {
+                skuDtos.add(toSkuDto(sku));
+            }
+            dto.setSkus(skuDtos);
+
+            // 设置图片列表
+            List<ProductImageDto> imageDtos = new ArrayList<>();
+            for (ProductImage image : imagesByProduct.getOrDefault(product.getId(), Collections.emptyList())) {
+                imageDtos.add(toImageDto(image));
+            }
+            dto.setImages(imageDtos);
+
+            // 设置属性列表
+            List<ProductAttributeDto> attributeDtos = new ArrayList<>();
+            for (ProductAttribute attribute : attributesByProduct.getOrDefault(product.getId(), Collections.emptyList())) {
+                attributeDtos.add(toAttributeDto(attribute));
+            }
+            dto.setAttributes(attributeDtos);
+
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private ProductDto toBaseDto(Product product) {
+        ProductDto dto = new ProductDto();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setCode(product.getCode());
+        dto.setBrand(product.getBrand());
+        dto.setDescription(product.getDescription());
+        dto.setRichContent(product.getRichContent());
+        dto.setStatus(product.getStatus().name());
+        dto.setCreatedAt(product.getCreatedAt());
+        dto.setUpdatedAt(product.getUpdatedAt());
+        return dto;
+    }
+
+    private SkuDto toSkuDto(Sku sku) {
+        SkuDto dto = new SkuDto();
+        dto.setId(sku.getId());
+        dto.setSkuCode(sku.getSkuCode());
+        dto.setName(sku.getName());
+        dto.setPrice(sku.getPrice());
+        dto.setMarketPrice(sku.getMarketPrice());
+        dto.setStock(sku.getStock());
+        dto.setWarningStock(sku.getWarningStock());
+        dto.setBarcode(sku.getBarcode());
+        dto.setWeight(sku.getWeight());
+        dto.setSpecifications(sku.getSpecifications());
+        dto.setStatus(sku.getStatus().name());
+        return dto;
+    }
+
+    private ProductImageDto toImageDto(ProductImage image) {
+        ProductImageDto dto = new ProductImageDto();
+        dto.setId(image.getId());
+        dto.setUrl(image.getUrl());
+        dto.setAlt(image.getAlt());
+        dto.setSortOrder(image.getSortOrder());
+        dto.setIsMain(image.getIsMain());
+        return dto;
+    }
+
+    private ProductAttributeDto toAttributeDto(ProductAttribute attribute) {
+        ProductAttributeDto dto = new ProductAttributeDto();
+        dto.setId(attribute.getId());
+        dto.setName(attribute.getName());
+        dto.setValue(attribute.getValue());
+        dto.setSortOrder(attribute.getSortOrder());
+        dto.setIsSaleAttribute(attribute.getIsSaleAttribute());
+        dto.setGroupName(attribute.getGroupName());
+        return dto;
+    }
+}
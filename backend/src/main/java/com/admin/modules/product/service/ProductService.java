@@ -1,17 +1,33 @@
 package com.admin.modules.product.service;
 
+import com.admin.modules.product.category.CategoryTree;
+import com.admin.modules.product.category.CategoryTreeCache;
 import com.admin.modules.product.dto.*;
 import com.admin.modules.product.entity.*;
 import com.admin.modules.product.enums.ProductStatus;
+import com.admin.modules.product.event.ProductChangedEvent;
+import com.admin.modules.product.projection.FacetCount;
 import com.admin.modules.product.repository.*;
 import com.admin.common.exception.ResourceNotFoundException;
+import com.admin.common.pagination.Cursor;
+import com.admin.common.pagination.CursorPage;
+import com.admin.common.pagination.CursorPageRequest;
+import com.admin.common.pagination.RowCountEstimator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,11 +35,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProductService {
     
+    // 商品详情缓存，按商品 id 精确失效
+    public static final String PRODUCT_DETAIL_CACHE = "productDetail";
+    
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final SkuRepository skuRepository;
     private final ProductImageRepository productImageRepository;
     private final ProductAttributeRepository productAttributeRepository;
+    private final ProductDtoAssembler productDtoAssembler;
+    private final RowCountEstimator rowCountEstimator;
+    private final ProductSearchRepository productSearchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryTreeCache categoryTreeCache;
     
     public ProductDto createProduct(ProductCreateRequest request) {
         // 验证分类存在
@@ -111,10 +135,12 @@ public class ProductService {
             productAttributeRepository.saveAll(attributes);
         }
         
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
         return getProductById(product.getId());
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(value = PRODUCT_DETAIL_CACHE, key = "#id")
     public ProductDto getProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("商品不存在: " + id));
@@ -123,30 +149,51 @@ public class ProductService {
             throw new ResourceNotFoundException("商品已删除: " + id);
         }
         
-        return convertToDto(product);
+        return productDtoAssembler.toDto(product);
     }
     
     @Transactional(readOnly = true)
     public Page<ProductDto> getProducts(Pageable pageable) {
-        return productRepository.findByIsDeletedFalse(pageable)
-                .map(this::convertToDto);
+        return productDtoAssembler.toDtoPage(productRepository.findByIsDeletedFalse(pageable));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> getProducts(CursorPageRequest pageRequest) {
+        Cursor after = pageRequest.after();
+        List<Product> rows = pageRequest.isFirstPage()
+                ? productRepository.findActiveFirstPage(pageRequest.limit())
+                : productRepository.findActivePageAfter(after.createdAt(), after.id(), pageRequest.limit());
+        return CursorPage.of(rows, pageRequest.size(),
+                product -> new Cursor(product.getCreatedAt(), product.getId()),
+                productDtoAssembler::toDtos,
+                pageRequest.includeTotal() ? rowCountEstimator.estimate("products") : null);
     }
     
     @Transactional(readOnly = true)
     public Page<ProductDto> getProductsByStatus(String status, Pageable pageable) {
-        return productRepository.findByIsDeletedFalseAndStatus(status, pageable)
-                .map(this::convertToDto);
+        return productDtoAssembler.toDtoPage(productRepository.findByIsDeletedFalseAndStatus(status, pageable));
     }
     
     @Transactional(readOnly = true)
     public List<ProductDto> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryIdAndStatusOrderByCreatedAtDesc(
-                        categoryId, ProductStatus.ACTIVE.name())
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return productDtoAssembler.toDtos(productRepository.findByCategoryIdAndStatusOrderByCreatedAtDesc(
+                categoryId, ProductStatus.ACTIVE.name()));
     }
     
+    /**
+     * @param includeDescendants 为 true 时包含全部子孙分类下的商品
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDto> getProductsByCategory(Long categoryId, boolean includeDescendants) {
+        if (!includeDescendants) {
+            return getProductsByCategory(categoryId);
+        }
+        CategoryTree.Node category = categoryTreeCache.get().find(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("分类不存在: " + categoryId));
+        return productDtoAssembler.toDtos(productRepository.findInCategorySubtree(category.path(), ProductStatus.ACTIVE));
+    }
+    
+    @CacheEvict(value = PRODUCT_DETAIL_CACHE, key = "#id")
     public ProductDto updateProduct(Long id, ProductCreateRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("商品不存在: " + id));
@@ -244,9 +291,11 @@ public class ProductService {
             productAttributeRepository.saveAll(attributes);
         }
         
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
         return getProductById(product.getId());
     }
     
+    @CacheEvict(value = PRODUCT_DETAIL_CACHE, key = "#id")
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("商品不存在: " + id));
@@ -258,8 +307,11 @@ public class ProductService {
         List<Sku> skus = skuRepository.findByProductId(id);
         skus.forEach(sku -> sku.setStatus(ProductStatus.INACTIVE));
         skuRepository.saveAll(skus);
+        
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
     }
     
+    @CacheEvict(value = PRODUCT_DETAIL_CACHE, key = "#id")
     public ProductDto updateProductStatus(Long id, String status) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("商品不存在: " + id));
@@ -276,97 +328,52 @@ public class ProductService {
         skus.forEach(sku -> sku.setStatus(product.getStatus()));
         skuRepository.saveAll(skus);
         
-        return convertToDto(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
+        return productDtoAssembler.toDto(product);
     }
     
     @Transactional(readOnly = true)
-    public Page<ProductDto> searchProducts(String keyword, Pageable pageable) {
-        return productRepository.searchProducts(keyword, pageable)
-                .map(this::convertToDto);
-    }
-    
-    @Transactional(readOnly = true)
-    public List<ProductDto> getLowStockProducts() {
-        return skuRepository.findAllLowStockSkus().stream()
-                .map(sku -> sku.getProduct())
-                .distinct()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-    }
-    
-    private ProductDto convertToDto(Product product) {
-        ProductDto dto = new ProductDto();
-        dto.setId(product.getId());
-        dto.setName(product.getName());
-        dto.setCode(product.getCode());
-        dto.setBrand(product.getBrand());
-        dto.setDescription(product.getDescription());
-        dto.setRichContent(product.getRichContent());
-        dto.setStatus(product.getStatus().name());
-        dto.setCreatedAt(product.getCreatedAt());
-        dto.setUpdatedAt(product.getUpdatedAt());
-        
-        // 设置分类信息
-        if (product.getCategory() != null) {
-            dto.setCategoryId(product.getCategory().getId());
-            dto.setCategoryName(product.getCategory().getName());
+    public Page<ProductDto> searchProducts(ProductSearchCriteria criteria, Pageable pageable) {
+        // 先按相关度取当前页 id（走三元组索引），再批量加载商品并保持排序
+        List<Long> ids = productSearchRepository.searchIds(criteria, (int) pageable.getOffset(), pageable.getPageSize());
+        // 未取满一页说明已是最后一页，总数可直接得出，省去 COUNT
+        boolean lastPage = ids.size() < pageable.getPageSize() && (!ids.isEmpty() || pageable.getOffset() == 0);
+        long total = lastPage ? pageable.getOffset() + ids.size() : productSearchRepository.count(criteria);
+        
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
         }
-        
-        // 设置SKU列表
-        List<SkuDto> skuDtos = skuRepository.findByProductId(product.getId()).stream()
-                .map(this::convertSkuToDto)
-                .collect(Collectors.toList());
-        dto.setSkus(skuDtos);
-        
-        // 设置图片列表
-        List<ProductImageDto> imageDtos = productImageRepository.findByProductId(product.getId()).stream()
-                .map(this::convertImageToDto)
-                .collect(Collectors.toList());
-        dto.setImages(imageDtos);
-        
-        // 设置属性列表
-        List<ProductAttributeDto> attributeDtos = productAttributeRepository.findByProductId(product.getId()).stream()
-                .map(this::convertAttributeToDto)
+        List<Product> products = productRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(product -> positions.get(product.getId())))
                 .collect(Collectors.toList());
-        dto.setAttributes(attributeDtos);
-        
-        return dto;
-    }
-    
-    private SkuDto convertSkuToDto(Sku sku) {
-        SkuDto dto = new SkuDto();
-        dto.setId(sku.getId());
-        dto.setSkuCode(sku.getSkuCode());
-        dto.setName(sku.getName());
-        dto.setPrice(sku.getPrice());
-        dto.setMarketPrice(sku.getMarketPrice());
-        dto.setStock(sku.getStock());
-        dto.setWarningStock(sku.getWarningStock());
-        dto.setBarcode(sku.getBarcode());
-        dto.setWeight(sku.getWeight());
-        dto.setSpecifications(sku.getSpecifications());
-        dto.setStatus(sku.getStatus().name());
-        return dto;
+        return new PageImpl<>(productDtoAssembler.toDtos(products), pageable, total);
     }
     
-    private ProductImageDto convertImageToDto(ProductImage image) {
-        ProductImageDto dto = new ProductImageDto();
-        dto.setId(image.getId());
-        dto.setUrl(image.getUrl());
-        dto.setAlt(image.getAlt());
-        dto.setSortOrder(image.getSortOrder());
-        dto.setIsMain(image.getIsMain());
-        return dto;
+    @Transactional(readOnly = true)
+    public ProductSearchFacetsDto searchFacets(ProductSearchCriteria criteria) {
+        List<FacetCount> categoryCounts = productSearchRepository.countByCategory(criteria);
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryCounts.stream()
+                        .map(count -> Long.valueOf(count.value()))
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        
+        ProductSearchFacetsDto facets = new ProductSearchFacetsDto();
+        facets.setTotal(productSearchRepository.count(criteria));
+        facets.setCategories(categoryCounts.stream()
+                .map(count -> {
+                    Category category = categories.get(Long.valueOf(count.value()));
+                    return new FacetCountDto(count.value(), category != null ? category.getName() : null, count.count());
+                })
+                .collect(Collectors.toList()));
+        facets.setStatuses(productSearchRepository.countByStatus(criteria).stream()
+                .map(count -> new FacetCountDto(count.value(), count.value(), count.count()))
+                .collect(Collectors.toList()));
+        return facets;
     }
     
-    private ProductAttributeDto convertAttributeToDto(ProductAttribute attribute) {
-        ProductAttributeDto dto = new ProductAttributeDto();
-        dto.setId(attribute.getId());
-        dto.setName(attribute.getName());
-        dto.setValue(attribute.getValue());
-        dto.setSortOrder(attribute.getSortOrder());
-        dto.setIsSaleAttribute(attribute.getIsSaleAttribute());
-        dto.setGroupName(attribute.getGroupName());
-        return dto;
+    @Transactional(readOnly = true)
+    public List<ProductDto> getLowStockProducts() {
+        return productDtoAssembler.toDtos(productRepository.findWithLowStockSkus());
     }
 }
\ No newline at end of file
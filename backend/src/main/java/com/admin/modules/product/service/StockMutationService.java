@@ -0,0 +1,277 @@
+package com.admin.modules.product.service;
+
+import com.admin.common.exception.ResourceNotFoundException;
+import com.admin.modules.product.event.StockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 库存变更引擎：所有增减都由数据库内的条件原子更新完成，
+ * 扣减时 WHERE stock >= ? 保证并发下不会超卖，无需读取-修改-写回。
+ * 批量操作按 SKU id 升序加锁，避免多个订单交叉扣减时死锁；任一 SKU 不足则整体回滚。
+ * <p>
+ * 热点SKU（hot_stock = TRUE）的库存由 Redis 预占层管理，这里遇到时抛出 {@link HotStockException}，
+ * 抛出前不做任何修改，因此不会把外层事务标记为回滚。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(noRollbackFor = HotStockException.class)
+public class StockMutationService {
+
+    private static final String DECREASE_SQL =
+            "UPDATE skus SET stock = stock - ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ? AND stock >= ? AND hot_stock = FALSE";
+
+    private static final String INCREASE_SQL =
+            "UPDATE skus SET stock = stock + ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND hot_stock = FALSE";
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE skus SET stock = stock + ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final RowMapper<StockRow> STOCK_ROW_MAPPER =
+            (rs, rowNum) -> new StockRow(rs.getLong("product_id"), rs.getInt("stock"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 原子扣减库存
+     *
+     * @return 扣减后的库存
+     * @throws IllegalStateException 库存不足
+     */
+    public int decrease(Long skuId, int quantity) {
+        requirePositive(quantity);
+        List<StockRow> updated = jdbcTemplate.query(DECREASE_SQL + " RETURNING product_id, stock",
+                STOCK_ROW_MAPPER, quantity, skuId, quantity);
+        if (updated.isEmpty()) {
+            throw rejection(skuId, true);
+        }
+        StockRow row = updated.get(0);
+        eventPublisher.publishEvent(new StockChangedEvent(skuId, row.productId(), row.stock() + quantity, row.stock()));
+        return row.stock();
+    }
+
+    /**
+     * 原子增加库存
+     *
+     * @return 增加后的库存
+     */
+    public int increase(Long skuId, int quantity) {
+        requirePositive(quantity);
+        List<StockRow> updated = jdbcTemplate.query(INCREASE_SQL + " RETURNING product_id, stock",
+                STOCK_ROW_MAPPER, quantity, skuId);
+        if (updated.isEmpty()) {
+            throw rejection(skuId, false);
+        }
+        StockRow row = updated.get(0);
+        eventPublisher.publishEvent(new StockChangedEvent(skuId, row.productId(), row.stock() - quantity, row.stock()));
+        return row.stock();
+    }
+
+    /**
+     * 直接设置库存（盘点），在行锁内读取旧值以便发布准确的变更事件
+     */
+    public int set(Long skuId, int stock) {
+        if (stock < 0) {
+            throw new IllegalArgumentException("库存不能为负数: " + stock);
+        }
+        List<StockRow> previous = jdbcTemplate.query(
+                "UPDATE skus s SET stock = ?, updated_at = CURRENT_TIMESTAMP " +
+                "FROM (SELECT id, stock FROM skus WHERE id = ? AND hot_stock = FALSE FOR UPDATE) old " +
+                "WHERE s.id = old.id RETURNING s.product_id, old.stock",
+                STOCK_ROW_MAPPER, stock, skuId);
+        if (previous.isEmpty()) {
+            throw rejection(skuId, false);
+        }
+        StockRow row = previous.get(0);
+        eventPublisher.publishEvent(new StockChangedEvent(skuId, row.productId(), row.stock(), stock));
+        return stock;
+    }
+
+    /**
+     * 批量扣减（多 SKU 订单），全部成功或全部回滚
+     *
+     * @param quantities SKU id -> 扣减数量
+     * @return SKU id -> 扣减后的库存
+     */
+    public Map<Long, Integer> decreaseAll(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = sortedEntries(quantities);
+        if (entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        lockColdRows(entries);
+
+        int[][] results = jdbcTemplate.batchUpdate(DECREASE_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+            ps.setInt(3, entry.getValue());
+        });
+        int index = 0;
+        for (int[] batch : results) {
+            for (int rows : batch) {
+                if (rows == 0) {
+                    // 抛出异常使整个事务回滚，已扣减的 SKU 一并恢复
+                    throw rejection(entries.get(index).getKey(), true);
+                }
+                index++;
+            }
+        }
+
+        return publishDeltas(entries, -1);
+    }
+
+    /**
+     * 批量归还库存（取消订单、释放预占）
+     *
+     * @return SKU id -> 归还后的库存
+     */
+    public Map<Long, Integer> increaseAll(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = sortedEntries(quantities);
+        if (entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        lockColdRows(entries);
+
+        jdbcTemplate.batchUpdate(INCREASE_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+        return publishDeltas(entries, 1);
+    }
+
+    /**
+     * 把 Redis 预占层累积的库存增量写回数据库，不检查热点标记与下限（Redis 侧已保证）
+     *
+     * @param deltas SKU id -> 库存增量（负数为扣减）
+     */
+    public Map<Long, Integer> applyDeltas(Map<Long, Integer> deltas) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(deltas).entrySet()) {
+            if (entry.getValue() != 0) {
+                entries.add(entry);
+            }
+        }
+        if (entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+        return publishDeltas(entries, 1);
+    }
+
+    /**
+     * 读取更新后的库存并逐个发布变更事件
+     *
+     * @param sign 1 表示条目数量为增量，-1 表示为扣减量
+     */
+    private Map<Long, Integer> publishDeltas(List<Map.Entry<Long, Integer>> entries, int sign) {
+        Map<Long, StockRow> rows = loadStocks(entries);
+        Map<Long, Integer> newStocks = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : entries) {
+            StockRow row = rows.get(entry.getKey());
+            if (row == null) {
+                throw new ResourceNotFoundException("SKU不存在: " + entry.getKey());
+            }
+            int delta = sign * entry.getValue();
+            eventPublisher.publishEvent(new StockChangedEvent(entry.getKey(), row.productId(), row.stock() - delta, row.stock()));
+            newStocks.put(entry.getKey(), row.stock());
+        }
+        return newStocks;
+    }
+
+    /**
+     * 按 id 顺序锁定非热点行，存在热点SKU时在修改任何数据之前抛出。
+     * 热点行不加锁：升级热点需要同一把行锁，已锁定的行在本事务结束前不会变成热点。
+     */
+    private void lockColdRows(List<Map.Entry<Long, Integer>> entries) {
+        String inClause = "id IN (" + placeholders(entries.size()) + ")";
+        List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM skus WHERE " + inClause + " AND hot_stock = FALSE ORDER BY id FOR UPDATE",
+                Long.class, ids(entries));
+        if (locked.size() == entries.size()) {
+            return;
+        }
+        Set<Long> hotSkuIds = new LinkedHashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM skus WHERE " + inClause + " AND hot_stock = TRUE ORDER BY id",
+                Long.class, ids(entries)));
+        if (!hotSkuIds.isEmpty()) {
+            throw new HotStockException(hotSkuIds);
+        }
+    }
+
+    private Map<Long, StockRow> loadStocks(List<Map.Entry<Long, Integer>> entries) {
+        // 这些行已被本事务锁定，读到的就是本次更新后的值
+        Map<Long, StockRow> stocks = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, product_id, stock FROM skus WHERE id IN (" + placeholders(entries.size()) + ") ORDER BY id",
+                rs -> {
+                    stocks.put(rs.getLong("id"), STOCK_ROW_MAPPER.mapRow(rs, 0));
+                }, ids(entries));
+        return stocks;
+    }
+
+    private RuntimeException rejection(Long skuId, boolean decreasing) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT stock, hot_stock FROM skus WHERE id = ?", skuId);
+        if (rows.isEmpty()) {
+            return new ResourceNotFoundException("SKU不存在: " + skuId);
+        }
+        Map<String, Object> row = rows.get(0);
+        if (Boolean.TRUE.equals(row.get("hot_stock"))) {
+            return new HotStockException(Set.of(skuId));
+        }
+        if (!decreasing) {
+            return new IllegalStateException("SKU库存更新失败: " + skuId);
+        }
+        return new IllegalStateException("库存不足，SKU: " + skuId + "，当前库存: " + row.get("stock"));
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+        return placeholders.toString();
+    }
+
+    private static Object[] ids(List<Map.Entry<Long, Integer>> entries) {
+        Object[] ids = new Object[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            ids[i] = entries.get(i).getKey();
+        }
+        return ids;
+    }
+
+    private static List<Map.Entry<Long, Integer>> sortedEntries(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        for (Map.Entry<Long, Integer> entry : entries) {
+            requirePositive(entry.getValue());
+        }
+        return entries;
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("数量必须大于0: " + quantity);
+        }
+    }
+
+    private record StockRow(long productId, int stock) {
+    }
+}
@@ -0,0 +1,17 @@
+-- 仪表盘按日汇总表：已结束的自然日由定时任务封存，封存后不再重算
+CREATE TABLE IF NOT EXISTS daily_order_stats (
+    stat_date   DATE PRIMARY KEY,
+    order_count BIGINT         NOT NULL DEFAULT 0,
+    revenue     NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    sealed_at   TIMESTAMP      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS daily_user_stats (
+    stat_date DATE PRIMARY KEY,
+    new_users BIGINT    NOT NULL DEFAULT 0,
+    sealed_at TIMESTAMP NOT NULL
+);
+
+-- 封存与“今日”实时统计都按创建时间范围扫描
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
@@ -0,0 +1,2 @@
+-- 热点SKU标记：为 TRUE 时库存由 Redis 预占层管理，数据库侧的条件扣减会跳过该 SKU
+ALTER TABLE skus ADD COLUMN IF NOT EXISTS hot_stock BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,9 @@
+-- 订单相关表改用序列主键（pooled 分配，每次取 50 个），以便 Hibernate 批量插入
+-- pooled 优化器把序列值视为号段上界，起始值需高出现有最大 id 一个号段
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_addresses_seq INCREMENT BY 50;
+
+SELECT setval('orders_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 50, false);
+SELECT setval('order_items_seq', COALESCE((SELECT MAX(id) FROM order_items), 0) + 50, false);
+SELECT setval('order_addresses_seq', COALESCE((SELECT MAX(id) FROM order_addresses), 0) + 50, false);
@@ -0,0 +1,9 @@
+-- 键集分页：列表按 (created_at, id) 倒序定位，复合索引让翻页深度不影响查询耗时
+CREATE INDEX IF NOT EXISTS idx_orders_active_created_at_id
+    ON orders (created_at DESC, id DESC) WHERE is_deleted = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_products_active_created_at_id
+    ON products (created_at DESC, id DESC) WHERE is_deleted = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_shipping_orders_created_at_id
+    ON shipping_orders (created_at DESC, id DESC);
@@ -0,0 +1,13 @@
+-- 商品搜索：名称/编码/品牌的小写拼接作为生成列，随商品写入自动更新；
+-- pg_trgm 三元组索引支持 LIKE '%关键字%'，不依赖分词，中文名称同样适用
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE products
+    ADD COLUMN IF NOT EXISTS search_text TEXT
+        GENERATED ALWAYS AS (lower(coalesce(name, '') || ' ' || coalesce(code, '') || ' ' || coalesce(brand, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_text_trgm
+    ON products USING gin (search_text gin_trgm_ops) WHERE is_deleted = FALSE;
+
+-- 价格区间筛选按 SKU 售价匹配
+CREATE INDEX IF NOT EXISTS idx_skus_product_id_price ON skus (product_id, price);
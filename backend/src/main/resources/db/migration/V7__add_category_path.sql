@@ -0,0 +1,24 @@
+-- 分类物化路径：path 为从根到自身的 id 序列（如 /1/5/12/），子树查询为前缀匹配
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS path VARCHAR(500);
+
+WITH RECURSIVE tree AS (
+    SELECT id, '/' || id || '/' AS path, 1 AS depth
+    FROM categories
+    WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, t.path || c.id || '/', t.depth + 1
+    FROM categories c
+    JOIN tree t ON c.parent_id = t.id
+)
+UPDATE categories c
+SET path = tree.path, level = tree.depth
+FROM tree
+WHERE c.id = tree.id;
+
+-- 父节点链断开的历史数据按根节点处理
+UPDATE categories SET path = '/' || id || '/', level = 1 WHERE path IS NULL;
+
+ALTER TABLE categories ALTER COLUMN path SET NOT NULL;
+
+-- varchar_pattern_ops 让 LIKE '前缀%' 可以走索引
+CREATE INDEX IF NOT EXISTS idx_categories_path ON categories (path varchar_pattern_ops);
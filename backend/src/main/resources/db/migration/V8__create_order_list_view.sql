@@ -0,0 +1,38 @@
+-- 管理端订单列表的读模型：每个订单一行，冗余订单项数与首个商品名，列表查询不再关联订单项、地址、支付。
+-- 由订单写操作在同一事务内 UPSERT 维护（OrderListViewWriter）。
+CREATE TABLE IF NOT EXISTS order_list_view (
+    order_id           BIGINT PRIMARY KEY,
+    order_number       VARCHAR(32)    NOT NULL,
+    user_id            BIGINT         NOT NULL,
+    user_name          VARCHAR(50),
+    item_count         INTEGER        NOT NULL DEFAULT 0,
+    first_product_name VARCHAR(200),
+    total_amount       NUMERIC(10, 2) NOT NULL,
+    payable_amount     NUMERIC(10, 2) NOT NULL,
+    status             VARCHAR(30)    NOT NULL,
+    payment_status     VARCHAR(30)    NOT NULL,
+    paid_at            TIMESTAMP,
+    shipped_at         TIMESTAMP,
+    completed_at       TIMESTAMP,
+    cancelled_at       TIMESTAMP,
+    created_at         TIMESTAMP,
+    updated_at         TIMESTAMP,
+    is_deleted         BOOLEAN        NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_list_view_created_at_id
+    ON order_list_view (created_at DESC, order_id DESC) WHERE is_deleted = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_order_list_view_status_created_at_id
+    ON order_list_view (status, created_at DESC, order_id DESC) WHERE is_deleted = FALSE;
+
+INSERT INTO order_list_view (order_id, order_number, user_id, user_name, item_count, first_product_name,
+                             total_amount, payable_amount, status, payment_status, paid_at, shipped_at,
+                             completed_at, cancelled_at, created_at, updated_at, is_deleted)
+SELECT o.id, o.order_number, o.user_id, o.user_name,
+       (SELECT COUNT(*) FROM order_items i WHERE i.order_id = o.id),
+       (SELECT i.product_name FROM order_items i WHERE i.order_id = o.id ORDER BY i.id LIMIT 1),
+       o.total_amount, o.payable_amount, o.status, o.payment_status, o.paid_at, o.shipped_at,
+       o.completed_at, o.cancelled_at, o.created_at, o.updated_at, o.is_deleted
+FROM orders o
+ON CONFLICT (order_id) DO NOTHING;
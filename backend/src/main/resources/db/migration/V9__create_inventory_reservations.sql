@@ -0,0 +1,21 @@
+-- 库存预占记录：预占的状态以数据库为准，确认与到期释放不依赖 Redis 中的记录。
+-- hot 标记该 SKU 在预占时由 Redis 热点库存扣减，其余在 skus 表中扣减。
+CREATE TABLE IF NOT EXISTS inventory_reservations (
+    reservation_id VARCHAR(64) PRIMARY KEY,
+    status         VARCHAR(20) NOT NULL,
+    expire_at      TIMESTAMP   NOT NULL,
+    created_at     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS inventory_reservation_items (
+    reservation_id VARCHAR(64) NOT NULL REFERENCES inventory_reservations (reservation_id) ON DELETE CASCADE,
+    sku_id         BIGINT      NOT NULL,
+    quantity       INTEGER     NOT NULL,
+    hot            BOOLEAN     NOT NULL,
+    PRIMARY KEY (reservation_id, sku_id)
+);
+
+-- 过期扫描只看仍待确认的预占
+CREATE INDEX IF NOT EXISTS idx_inventory_reservations_pending_expire_at
+    ON inventory_reservations (expire_at) WHERE status = 'RESERVED';
@@ -0,0 +1,20 @@
+-- 人工调整热点库存，调整量同时记入待回写增量
+-- KEYS[1]: 热点库存 key  KEYS[2]: 待回写增量 hash
+-- ARGV[1]: skuId  ARGV[2]: 模式 delta/set  ARGV[3]: 增量或目标库存
+-- 返回调整后的库存；-1 表示未加载到 Redis，-2 表示库存不足
+local stock = redis.call('GET', KEYS[1])
+if not stock then
+    return -1
+end
+stock = tonumber(stock)
+
+local delta = tonumber(ARGV[3])
+if ARGV[2] == 'set' then
+    delta = delta - stock
+end
+if stock + delta < 0 then
+    return -2
+end
+redis.call('INCRBY', KEYS[1], delta)
+redis.call('HINCRBY', KEYS[2], ARGV[1], delta)
+return stock + delta
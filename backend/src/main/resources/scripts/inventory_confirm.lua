@@ -0,0 +1,12 @@
+-- 确认预占的热点部分（订单已支付）：库存保持扣减，只清除预占记录
+-- KEYS[1]: 预占热点明细 hash  KEYS[2]: 过期时间 zset  KEYS[3]: 已释放预占 zset
+-- ARGV[1]: 预占单号
+-- 返回 1 表示确认成功，0 表示预占已释放，-1 表示没有该预占的记录
+if redis.call('ZREM', KEYS[2], ARGV[1]) == 0 then
+    if redis.call('ZSCORE', KEYS[3], ARGV[1]) then
+        return 0
+    end
+    return -1
+end
+redis.call('DEL', KEYS[1])
+return 1
@@ -0,0 +1,13 @@
+-- 退出热点：只有增量已全部回写时才移除 Redis 库存，此后数据库库存即为准确值
+-- KEYS[1]: 热点库存 key  KEYS[2]: 待回写增量 hash  KEYS[3]: 热点SKU set  KEYS[4]: 热点访问时间 zset
+-- ARGV[1]: skuId
+-- 返回 1 表示已退出，0 表示仍有未回写增量
+local pending = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+if pending ~= 0 then
+    return 0
+end
+redis.call('DEL', KEYS[1])
+redis.call('HDEL', KEYS[2], ARGV[1])
+redis.call('SREM', KEYS[3], ARGV[1])
+redis.call('ZREM', KEYS[4], ARGV[1])
+return 1
@@ -0,0 +1,38 @@
+-- 释放预占的热点部分：从过期 zset 中移除即视为认领，保证同一预占只会被释放一次
+-- KEYS[1]: 预占热点明细 hash  KEYS[2]: 过期时间 zset  KEYS[3]: 待回写增量 hash
+-- KEYS[4]: 已释放预占 zset  KEYS[5..]: 各热点SKU库存 key
+-- ARGV[1]: 预占单号  ARGV[2]: 当前时间(ms)  ARGV[3]: 已释放记录保留截止时间(ms)
+-- ARGV[4..]: 与 KEYS[5..] 一一对应的热点 skuId（调用方先读取预占热点明细）
+-- 返回 1 释放成功，0 此前已释放，-1 没有该预占的记录，2 传入的热点SKU与预占不符（不做修改）
+if not redis.call('ZSCORE', KEYS[2], ARGV[1]) then
+    if redis.call('ZSCORE', KEYS[4], ARGV[1]) then
+        return 0
+    end
+    return -1
+end
+
+local stockKeys = {}
+for i = 4, #ARGV do
+    stockKeys[ARGV[i]] = KEYS[i + 1]
+end
+local hot = redis.call('HGETALL', KEYS[1])
+for i = 1, #hot, 2 do
+    if not stockKeys[hot[i]] then
+        return 2
+    end
+end
+
+redis.call('ZREM', KEYS[2], ARGV[1])
+for i = 1, #hot, 2 do
+    local stockKey = stockKeys[hot[i]]
+    -- 已退出热点的SKU只记增量，回写时归还到数据库
+    if redis.call('EXISTS', stockKey) == 1 then
+        redis.call('INCRBY', stockKey, hot[i + 1])
+    end
+    redis.call('HINCRBY', KEYS[3], hot[i], hot[i + 1])
+end
+
+redis.call('DEL', KEYS[1])
+redis.call('ZADD', KEYS[4], ARGV[2], ARGV[1])
+redis.call('ZREMRANGEBYSCORE', KEYS[4], '-inf', ARGV[3])
+return 1
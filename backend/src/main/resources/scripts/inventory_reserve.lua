@@ -0,0 +1,30 @@
+-- 原子预占热点库存：在 Redis 中扣减并登记明细；预占记录与非热点部分由调用方写入数据库
+-- KEYS[1]: 预占热点明细 hash  KEYS[2]: 过期时间 zset  KEYS[3]: 待回写增量 hash
+-- KEYS[4]: 热点访问时间 zset  KEYS[5..]: 各热点SKU库存 key
+-- ARGV[1]: 预占单号  ARGV[2]: 过期时间(ms)  ARGV[3]: 当前时间(ms)  ARGV[4..]: 各热点 skuId/数量
+-- 返回 {状态, 序号}：0 成功，1 单号已存在，2 第 i 个SKU未加载到 Redis，3 第 i 个SKU库存不足
+if redis.call('ZSCORE', KEYS[2], ARGV[1]) then
+    return {1, 0}
+end
+
+local n = #KEYS - 4
+for i = 1, n do
+    local stock = redis.call('GET', KEYS[4 + i])
+    if not stock then
+        return {2, i}
+    end
+    if tonumber(stock) < tonumber(ARGV[3 + 2 * i]) then
+        return {3, i}
+    end
+end
+
+for i = 1, n do
+    local sku = ARGV[2 + 2 * i]
+    local quantity = tonumber(ARGV[3 + 2 * i])
+    redis.call('DECRBY', KEYS[4 + i], quantity)
+    redis.call('HINCRBY', KEYS[3], sku, -quantity)
+    redis.call('HSET', KEYS[1], sku, quantity)
+    redis.call('ZADD', KEYS[4], ARGV[3], sku)
+end
+redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+return {0, 0}
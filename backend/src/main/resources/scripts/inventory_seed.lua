@@ -0,0 +1,9 @@
+-- 加载热点库存：Redis 库存 = 数据库库存 + 尚未回写的增量，已加载时不覆盖
+-- KEYS[1]: 热点库存 key  KEYS[2]: 待回写增量 hash  KEYS[3]: 热点SKU set  KEYS[4]: 热点访问时间 zset
+-- ARGV[1]: skuId  ARGV[2]: 数据库库存  ARGV[3]: 当前时间(ms)
+-- 返回加载后的 Redis 库存
+local pending = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+redis.call('SETNX', KEYS[1], tonumber(ARGV[2]) + pending)
+redis.call('SADD', KEYS[3], ARGV[1])
+redis.call('ZADD', KEYS[4], 'NX', ARGV[3], ARGV[1])
+return tonumber(redis.call('GET', KEYS[1]))
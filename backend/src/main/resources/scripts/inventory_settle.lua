@@ -0,0 +1,9 @@
+-- 回写数据库后扣除已回写的增量，期间新产生的增量保留到下一轮
+-- KEYS[1]: 待回写增量 hash
+-- ARGV: skuId/已回写增量 成对出现
+for i = 1, #ARGV, 2 do
+    if redis.call('HINCRBY', KEYS[1], ARGV[i], -tonumber(ARGV[i + 1])) == 0 then
+        redis.call('HDEL', KEYS[1], ARGV[i])
+    end
+end
+return 1
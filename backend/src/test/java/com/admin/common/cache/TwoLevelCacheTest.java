@@ -0,0 +1,51 @@
+package com.admin.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    private ConcurrentMapCache remoteCache;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remoteCache = new ConcurrentMapCache("products");
+        cache = new TwoLevelCache("products", Caffeine.newBuilder().build(), remoteCache, invalidationPublisher);
+    }
+
+    @Test
+    void readThroughFill_ShouldNotBroadcast() {
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+        cache.put(2L, "filled");
+
+        assertEquals("loaded", remoteCache.get(1L).get());
+        assertEquals("filled", cache.get(2L).get());
+        verifyNoInteractions(invalidationPublisher);
+    }
+
+    @Test
+    void evictAndClear_ShouldBroadcast() {
+        cache.put(1L, "value");
+
+        cache.evict(1L);
+        cache.clear();
+
+        assertNull(cache.get(1L));
+        verify(invalidationPublisher).publish("products", "1");
+        verify(invalidationPublisher).publish("products", null);
+    }
+}
@@ -0,0 +1,53 @@
+package com.admin.common.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void getConnection_ShouldReject_WhenLimitReached_AndAdmitAfterClose() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, "oltp", 1);
+
+        Connection first = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.rejectedCount());
+
+        first.close();
+        first.close();
+        verify(connection, times(2)).close();
+        assertEquals(0, dataSource.inFlight());
+
+        assertNotNull(dataSource.getConnection());
+        assertEquals(1, dataSource.inFlight());
+    }
+
+    @Test
+    void getConnection_ShouldReleasePermit_WhenTargetFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("timeout"));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, "oltp", 1);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(0, dataSource.inFlight());
+        assertEquals(0, dataSource.rejectedCount());
+    }
+}
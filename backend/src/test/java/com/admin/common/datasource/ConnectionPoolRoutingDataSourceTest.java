@@ -0,0 +1,81 @@
+package com.admin.common.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPoolRoutingDataSourceTest {
+
+    @Mock
+    private DataSource oltp;
+
+    @Mock
+    private DataSource reporting;
+
+    @Mock
+    private Connection oltpConnection;
+
+    @Mock
+    private Connection reportingConnection;
+
+    private ConnectionPoolRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionPoolRoutingDataSource(
+                Map.of("oltp", oltp, ConnectionPool.REPORTING, reporting), "oltp", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void getConnection_ShouldUseDefaultPool_OutsideScope() throws Exception {
+        when(oltp.getConnection()).thenReturn(oltpConnection);
+
+        assertSame(oltpConnection, dataSource.getConnection());
+        verifyNoInteractions(reporting);
+    }
+
+    @Test
+    void getConnection_ShouldUseScopedPool_AndRestoreAfterwards() throws Exception {
+        when(reporting.getConnection()).thenReturn(reportingConnection);
+        when(oltp.getConnection()).thenReturn(oltpConnection);
+
+        ConnectionPoolContext.Scope previous =
+                ConnectionPoolContext.enter(ConnectionPool.REPORTING, "DashboardService.getDashboardStats");
+        try {
+            assertSame(reportingConnection, dataSource.getConnection());
+        } finally {
+            ConnectionPoolContext.restore(previous);
+        }
+
+        assertNull(ConnectionPoolContext.current());
+        assertSame(oltpConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ShouldThrow_WhenPoolUnknown() {
+        ConnectionPoolContext.Scope previous = ConnectionPoolContext.enter("missing", "Test.method");
+        try {
+            assertThrows(IllegalStateException.class, () -> dataSource.getConnection());
+        } finally {
+            ConnectionPoolContext.restore(previous);
+        }
+    }
+
+    @Test
+    void constructor_ShouldReject_MissingDefaultPool() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ConnectionPoolRoutingDataSource(Map.of(ConnectionPool.REPORTING, reporting), "oltp",
+                        Duration.ofSeconds(1)));
+    }
+}
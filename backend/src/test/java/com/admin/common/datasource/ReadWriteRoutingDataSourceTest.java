@@ -0,0 +1,137 @@
+package com.admin.common.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 两个独立的 Postgres 分别充当主库和副本，用 current_database() 区分连接落在哪一边
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadWriteRoutingDataSourceTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("primary_db");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("replica_db");
+
+    private ReplicaNode replicaNode;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        replicaNode = new ReplicaNode("replica", dataSource(replica));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource(primary),
+                List.of(replicaNode), new ReadYourWritesTracker(Duration.ofMillis(300)));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        // 未登录时写入记录在当前请求上
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() {
+        assertEquals("replica_db", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimary() {
+        assertEquals("primary_db", readWrite.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUsePrimary_RightAfterWrite() throws InterruptedException {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("CREATE TEMP TABLE written (id INT)"));
+
+        assertEquals("primary_db", readOnly.execute(status -> currentDatabase()));
+
+        Thread.sleep(400);
+        assertEquals("replica_db", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica_AfterReadWriteTransactionThatOnlyRead() {
+        readWrite.executeWithoutResult(status -> currentDatabase());
+
+        assertEquals("replica_db", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica_AfterRequestThatWroteEnds() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("CREATE TEMP TABLE written (id INT)"));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertEquals("replica_db", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUsePrimary_WhenReplicaUnhealthy() {
+        new ReplicaHealthChecker(List.of(replicaNode), Duration.ofMillis(-1)).checkReplicas();
+
+        assertFalse(replicaNode.isHealthy());
+        assertEquals("primary_db", readOnly.execute(status -> currentDatabase()));
+
+        new ReplicaHealthChecker(List.of(replicaNode), Duration.ofSeconds(5)).checkReplicas();
+
+        assertTrue(replicaNode.isHealthy());
+        assertEquals("replica_db", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldFailOverToPrimary_WhenReplicaUnreachable() {
+        ReplicaNode unreachable = new ReplicaNode("unreachable",
+                new DriverManagerDataSource("jdbc:postgresql://127.0.0.1:1/none", "none", "none"));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource(primary),
+                List.of(unreachable), new ReadYourWritesTracker(Duration.ofSeconds(5)));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+
+        String database = template.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT current_database()", String.class));
+
+        assertEquals("primary_db", database);
+        assertFalse(unreachable.isHealthy());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static DataSource dataSource(PostgreSQLContainer<?> container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+}
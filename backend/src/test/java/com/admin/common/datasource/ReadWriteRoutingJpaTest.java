@@ -0,0 +1,111 @@
+package com.admin.common.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 与应用一致经 JpaTransactionManager 开事务：每个事务各自的 EntityManager 按只读标记取连接
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadWriteRoutingJpaTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("primary_db");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("replica_db");
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource(primary),
+                List.of(new ReplicaNode("replica", dataSource(replica))),
+                new ReadYourWritesTracker(Duration.ofMillis(300)));
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new LazyConnectionDataSourceProxy(routing));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(ReadWriteRoutingJpaTest.class.getPackageName());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect",
+                "hibernate.hbm2ddl.auto", "none"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        factoryBean.destroy();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() {
+        assertEquals("replica_db", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void writeAfterReadOnly_ShouldUsePrimary() {
+        assertEquals("replica_db", readOnly.execute(status -> currentDatabase()));
+        assertEquals("primary_db", readWrite.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyAfterWrite_ShouldUsePrimary_WithinReadYourWritesWindow() throws InterruptedException {
+        assertEquals("primary_db", readWrite.execute(status -> {
+            EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                    .createNativeQuery("CREATE TEMP TABLE written (id INT)")
+                    .executeUpdate();
+            return currentDatabase();
+        }));
+        assertEquals("primary_db", readOnly.execute(status -> currentDatabase()));
+
+        Thread.sleep(400);
+        assertEquals("replica_db", readOnly.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        return (String) entityManager.createNativeQuery("SELECT current_database()").getSingleResult();
+    }
+
+    private static DataSource dataSource(PostgreSQLContainer<?> container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+}
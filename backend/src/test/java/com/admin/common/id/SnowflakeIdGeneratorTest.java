@@ -0,0 +1,102 @@
+package com.admin.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    void nextId_ShouldBeUnique_AcrossThreads() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long previous = -1;
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    long id = generator.nextId();
+                    // 单线程内观察到的 ID 必须严格递增
+                    assertTrue(id > previous);
+                    previous = id;
+                    ids.add(id);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            // get() 把工作线程里的断言失败重新抛出
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+    }
+
+    @Test
+    void nextId_ShouldStayIncreasing_WhenClockMovesBackwards() {
+        AtomicLong clock = new AtomicLong(10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 0, clock::get);
+
+        long first = generator.nextId();
+        clock.set(5_000);
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void nextId_ShouldCarryIntoNextMillisecond_WhenSequenceIsExhausted() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 0, () -> 10_000);
+
+        long previous = -1;
+        for (int i = 0; i < (1 << SnowflakeIdGenerator.SEQUENCE_BITS) + 10; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(1, (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID);
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextNumber_ShouldBeFixedWidth_AndSortable() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+
+        String first = generator.nextNumber("ORD");
+        String second = generator.nextNumber("ORD");
+
+        assertEquals(3 + IdGenerator.DECIMAL_WIDTH, first.length());
+        assertEquals(first.length(), second.length());
+        assertTrue(second.compareTo(first) > 0);
+        assertEquals("TRK0000000000000000042", IdGenerator.format("TRK", 42));
+    }
+
+    @Test
+    void constructor_ShouldRejectOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
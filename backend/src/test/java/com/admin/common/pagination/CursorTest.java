@@ -0,0 +1,45 @@
+package com.admin.common.pagination;
+
+import com.admin.common.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    @Test
+    void decode_ShouldRestoreEncodedCursor() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000), 42L);
+
+        assertEquals(cursor, Cursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_ShouldReturnNull_ForFirstPage() {
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> Cursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void of_ShouldExposeNextCursor_OnlyWhenMoreRowsExist() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Function<Long, Cursor> cursorOf = id -> new Cursor(now, id);
+
+        CursorPage<Long> full = CursorPage.of(List.of(3L, 2L, 1L), 2, cursorOf, Function.identity(), null);
+        assertEquals(List.of(3L, 2L), full.items());
+        assertEquals(new Cursor(now, 2L), Cursor.decode(full.nextCursor()));
+
+        CursorPage<Long> last = CursorPage.of(List.of(1L), 2, cursorOf, Function.identity(), null);
+        assertEquals(List.of(1L), last.items());
+        assertFalse(last.hasNext());
+    }
+}
@@ -0,0 +1,69 @@
+package com.admin.common.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity() {
+        LocalTokenBucket bucket = new LocalTokenBucket(10, 10, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bucket.tryAcquire(0));
+        }
+        assertFalse(bucket.tryAcquire(0));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtConfiguredRate() {
+        LocalTokenBucket bucket = new LocalTokenBucket(10, 10, 0);
+        for (int i = 0; i < 10; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        assertFalse(bucket.tryAcquire(SECOND / 20));
+        assertTrue(bucket.tryAcquire(SECOND / 10));
+        assertFalse(bucket.tryAcquire(SECOND / 10));
+    }
+
+    @Test
+    void tryAcquire_ShouldNotAccumulateBeyondCapacity_WhenIdle() {
+        LocalTokenBucket bucket = new LocalTokenBucket(2, 2, 0);
+
+        long later = 60 * SECOND;
+        assertTrue(bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later));
+        assertFalse(bucket.tryAcquire(later));
+    }
+
+    @Test
+    void tryAcquire_ShouldGrantExactlyCapacity_UnderContention() throws InterruptedException {
+        LocalTokenBucket bucket = new LocalTokenBucket(100, 100, 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> {
+                    if (bucket.tryAcquire(0)) {
+                        granted.incrementAndGet();
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(100, granted.get());
+    }
+}
@@ -0,0 +1,121 @@
+package com.admin.common.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterRegistryTest {
+
+    private StubBackend backend;
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        backend = new StubBackend();
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        properties.getDefaultPolicy().setPermitsPerSecond(10);
+        properties.getDistributed().setLeaseSize(5);
+        properties.getDistributed().setLeaseTtl(Duration.ofMinutes(1));
+        properties.getDistributed().setFallbackRetryInterval(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void tryAcquire_ShouldServeLeasedPermitsWithoutBackend() {
+        backend.tokens = 100;
+        RateLimiterRegistry registry = newRegistry();
+        RateLimitPolicy policy = registry.resolvePolicy("/api/products");
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(registry.tryAcquire(policy, "client"));
+        }
+        assertEquals(1, backend.calls);
+        assertEquals(5, backend.lastRequested);
+
+        assertTrue(registry.tryAcquire(policy, "client"));
+        assertEquals(2, backend.calls);
+    }
+
+    @Test
+    void tryAcquire_ShouldReject_WhenClusterBucketIsEmpty() {
+        backend.tokens = 3;
+        RateLimiterRegistry registry = newRegistry();
+        RateLimitPolicy policy = registry.resolvePolicy("/api/products");
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(registry.tryAcquire(policy, "client"));
+        }
+        assertFalse(registry.tryAcquire(policy, "client"));
+
+        assertEquals(1.0, meterRegistry.get("rate_limit.requests").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void tryAcquire_ShouldLimitLocally_WhileBackendIsUnavailable() {
+        backend.failing = true;
+        RateLimiterRegistry registry = newRegistry();
+        RateLimitPolicy policy = registry.resolvePolicy("/api/products");
+
+        // 本地令牌桶容量为一秒的令牌数
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            if (registry.tryAcquire(policy, "client")) {
+                allowed++;
+            }
+        }
+
+        assertTrue(allowed >= 10 && allowed < 20, "allowed " + allowed);
+        assertEquals(1, backend.calls, "backend retried inside the fallback window");
+        assertEquals(20.0, meterRegistry.get("rate_limit.fallback").counter().count());
+    }
+
+    @Test
+    void tryAcquire_ShouldRetryBackend_AfterFallbackWindow() throws InterruptedException {
+        properties.getDistributed().setFallbackRetryInterval(Duration.ofMillis(100));
+        backend.failing = true;
+        RateLimiterRegistry registry = newRegistry();
+        RateLimitPolicy policy = registry.resolvePolicy("/api/products");
+
+        assertTrue(registry.tryAcquire(policy, "client"));
+        backend.failing = false;
+        backend.tokens = 100;
+        assertTrue(registry.tryAcquire(policy, "client"));
+        assertEquals(1, backend.calls);
+
+        Thread.sleep(150);
+        assertTrue(registry.tryAcquire(policy, "client"));
+        assertEquals(2, backend.calls);
+    }
+
+    private RateLimiterRegistry newRegistry() {
+        return new RateLimiterRegistry(properties, meterRegistry, backend);
+    }
+
+    /**
+     * 内存中的集群令牌桶，不补充令牌
+     */
+    private static class StubBackend implements TokenBucketBackend {
+
+        private volatile long tokens;
+        private volatile boolean failing;
+        private volatile int calls;
+        private volatile long lastRequested;
+
+        @Override
+        public synchronized long acquire(String key, double permitsPerSecond, long capacity, long requested) {
+            calls++;
+            lastRequested = requested;
+            if (failing) {
+                throw new IllegalStateException("Redis unavailable");
+            }
+            long granted = Math.min(tokens, requested);
+            tokens -= granted;
+            return granted;
+        }
+    }
+}
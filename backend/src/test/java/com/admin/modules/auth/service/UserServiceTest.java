@@ -1,6 +1,7 @@
 package com.admin.modules.auth.service;
 
 import com.admin.common.exception.ResourceNotFoundException;
+import com.admin.common.security.service.UserPrincipalCache;
 import com.admin.modules.auth.dto.UserDto;
 import com.admin.modules.auth.dto.UserUpdateRequest;
 import com.admin.modules.auth.entity.Role;
@@ -39,6 +40,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -183,6 +187,7 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals(UserStatus.FROZEN, testUser.getStatus());
         verify(userRepository, times(1)).save(testUser);
+        verify(userPrincipalCache, times(1)).invalidate("testuser");
     }
 
     @Test
@@ -226,5 +231,6 @@ class UserServiceTest {
         // Then
         assertEquals("encodedNewPassword", testUser.getPasswordHash());
         verify(userRepository, times(1)).save(testUser);
+        verify(userPrincipalCache, times(1)).invalidate("testuser");
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.admin.modules.dashboard.service;
+
+import com.admin.common.datasource.ReadWriteRoutingDataSource;
+import com.admin.common.datasource.ReadYourWritesTracker;
+import com.admin.common.datasource.ReplicaNode;
+import com.admin.modules.auth.repository.UserRepository;
+import com.admin.modules.dashboard.dto.DashboardStatsDto;
+import com.admin.modules.dashboard.dto.TrendSeriesDto;
+import com.admin.modules.dashboard.projection.OrderTotals;
+import com.admin.modules.dashboard.projection.StatusCounts;
+import com.admin.modules.dashboard.repository.DashboardStatsRepository;
+import com.admin.modules.product.enums.ProductStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 分区在虚拟线程上计算，没有调用方的事务：确认每个分区的查询都在只读事务中落到副本
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class DashboardReplicaRoutingTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("primary_db");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("replica_db");
+
+    private final Set<String> queriedDatabases = ConcurrentHashMap.newKeySet();
+
+    private JdbcTemplate jdbcTemplate;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource(primary),
+                List.of(new ReplicaNode("replica", dataSource(replica))),
+                new ReadYourWritesTracker(Duration.ofSeconds(5)));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        DashboardStatsRepository dashboardStatsRepository = mock(DashboardStatsRepository.class);
+        DashboardTrendService dashboardTrendService = mock(DashboardTrendService.class);
+        DailyStatsService dailyStatsService = mock(DailyStatsService.class);
+
+        TrendSeriesDto series = new TrendSeriesDto();
+        series.setLabels(new String[]{"2026-10-17"});
+        series.setValues(new BigDecimal[]{BigDecimal.ONE});
+
+        when(userRepository.countByLastLoginTimeAfter(any())).thenAnswer(invocation -> recordQuery(5L));
+        when(dashboardStatsRepository.countProductsByStatus())
+                .thenAnswer(invocation -> recordQuery(new StatusCounts<>(Map.of(ProductStatus.ACTIVE, 3L))));
+        when(dailyStatsService.orderTotalsSince(any()))
+                .thenAnswer(invocation -> recordQuery(new OrderTotals(2, BigDecimal.TEN)));
+        when(dashboardTrendService.getTrend(any(), any(), anyInt())).thenAnswer(invocation -> recordQuery(series));
+
+        dashboardService = new DashboardService(userRepository, dashboardStatsRepository, mock(DashboardCounters.class),
+                dashboardTrendService, dailyStatsService, new DataSourceTransactionManager(dataSource),
+                Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void getDashboardStats_ShouldReadFromReplica() {
+        DashboardStatsDto stats = dashboardService.getDashboardStats();
+
+        assertEquals(List.of(), stats.getStaleSections());
+        assertEquals(Set.of("replica_db"), queriedDatabases);
+    }
+
+    private <T> T recordQuery(T result) {
+        queriedDatabases.add(jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+        return result;
+    }
+
+    private static DataSource dataSource(PostgreSQLContainer<?> container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+}
@@ -0,0 +1,141 @@
+package com.admin.modules.dashboard.service;
+
+import com.admin.modules.auth.repository.UserRepository;
+import com.admin.modules.dashboard.dto.DashboardStatsDto;
+import com.admin.modules.dashboard.dto.TrendSeriesDto;
+import com.admin.modules.dashboard.enums.DashboardSection;
+import com.admin.modules.dashboard.projection.OrderTotals;
+import com.admin.modules.dashboard.projection.StatusCounts;
+import com.admin.modules.dashboard.repository.DashboardStatsRepository;
+import com.admin.modules.product.enums.ProductStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DashboardStatsRepository dashboardStatsRepository;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
+    @Mock
+    private DashboardTrendService dashboardTrendService;
+
+    @Mock
+    private DailyStatsService dailyStatsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardService dashboardService;
+
+    // 阻塞中的用户查询在测试结束时放行
+    private final CountDownLatch slowQuery = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardService(userRepository, dashboardStatsRepository, dashboardCounters,
+                dashboardTrendService, dailyStatsService, transactionManager, Duration.ofMillis(300));
+
+        TrendSeriesDto series = new TrendSeriesDto();
+        series.setLabels(new String[]{"2026-10-17"});
+        series.setValues(new BigDecimal[]{BigDecimal.ONE});
+
+        when(dashboardStatsRepository.countProductsByStatus())
+                .thenReturn(new StatusCounts<>(Map.of(ProductStatus.ACTIVE, 3L)));
+        when(dailyStatsService.orderTotalsSince(any())).thenReturn(new OrderTotals(2, BigDecimal.TEN));
+        when(dashboardTrendService.getTrend(any(), any(), anyInt())).thenReturn(series);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQuery.countDown();
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void getDashboardStats_ShouldComputeAllSections() {
+        when(userRepository.countByLastLoginTimeAfter(any())).thenReturn(5L);
+
+        DashboardStatsDto stats = dashboardService.getDashboardStats();
+
+        assertEquals(List.of(), stats.getStaleSections());
+        assertEquals(5L, stats.getActiveUsersToday());
+        assertEquals(3L, stats.getActiveProducts());
+        assertEquals(2L, stats.getOrdersToday());
+        assertEquals(BigDecimal.ZERO, stats.getOrderConversionRate());
+        assertEquals(1, stats.getRevenueTrend().size());
+        assertNotNull(stats.getLastUpdated());
+    }
+
+    @Test
+    void getDashboardStats_ShouldMarkSlowSectionStale_WithoutWaitingForIt() {
+        when(userRepository.countByLastLoginTimeAfter(any())).thenAnswer(invocation -> {
+            slowQuery.await(10, TimeUnit.SECONDS);
+            return 5L;
+        });
+
+        long start = System.nanoTime();
+        DashboardStatsDto stats = dashboardService.getDashboardStats();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 5_000, "dashboard waited for the slow section");
+        assertEquals(List.of(DashboardSection.USERS), stats.getStaleSections());
+        assertNull(stats.getActiveUsersToday());
+        assertEquals(3L, stats.getActiveProducts());
+        assertEquals(2L, stats.getOrdersToday());
+    }
+
+    @Test
+    void getDashboardStats_ShouldServeLastResult_ForSlowSection() {
+        AtomicInteger calls = new AtomicInteger();
+        when(userRepository.countByLastLoginTimeAfter(any())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() > 1) {
+                slowQuery.await(10, TimeUnit.SECONDS);
+            }
+            return 5L;
+        });
+        dashboardService.getDashboardStats();
+
+        DashboardStatsDto stats = dashboardService.getDashboardStats();
+
+        assertEquals(List.of(DashboardSection.USERS), stats.getStaleSections());
+        assertEquals(5L, stats.getActiveUsersToday());
+    }
+
+    @Test
+    void getDashboardStats_ShouldReuseInFlightComputation_ForSlowSection() {
+        when(userRepository.countByLastLoginTimeAfter(any())).thenAnswer(invocation -> {
+            slowQuery.await(10, TimeUnit.SECONDS);
+            return 5L;
+        });
+
+        dashboardService.getDashboardStats();
+        DashboardStatsDto stats = dashboardService.getDashboardStats();
+
+        assertEquals(List.of(DashboardSection.USERS), stats.getStaleSections());
+        verify(userRepository, times(1)).countByLastLoginTimeAfter(any());
+    }
+}
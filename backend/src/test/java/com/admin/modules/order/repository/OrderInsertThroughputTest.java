@@ -0,0 +1,160 @@
+package com.admin.modules.order.repository;
+
+import com.admin.modules.order.entity.Order;
+import com.admin.modules.order.entity.OrderAddress;
+import com.admin.modules.order.entity.OrderItem;
+import com.admin.modules.order.enums.OrderStatus;
+import com.admin.modules.order.enums.PaymentStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 下单写入压测：对比逐条插入（JDBC 批量大小为 1，相当于 IDENTITY 主键时的往返次数）
+ * 与序列主键 + 批量插入 + reWriteBatchedInserts 的每秒订单数
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderInsertThroughputTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderInsertThroughputTest.class);
+
+    private static final int ORDERS = 2000;
+    private static final int ITEMS_PER_ORDER = 20;
+    private static final int CLIENTS = 16;
+    // 每单 20 个订单项时逐条插入约 22 次往返、批量约 3 次，留足余量避免机器抖动误报
+    private static final double MIN_SPEEDUP = 1.5;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void batchedInserts_ShouldOutperformUnbatched() throws Exception {
+        // 预热连接池与序列
+        insertOrders(200, 50);
+
+        double unbatched = insertOrders(ORDERS, 1);
+        double batched = insertOrders(ORDERS, 50);
+        logger.info("Order inserts: {} orders/s unbatched, {} orders/s batched ({} items per order, {} clients)",
+                Math.round(unbatched), Math.round(batched), ITEMS_PER_ORDER, CLIENTS);
+
+        assertEquals(200 + 2L * ORDERS, orderRepository.count());
+        assertTrue(batched >= unbatched * MIN_SPEEDUP, String.format(
+                "batched inserts reached %.0f orders/s, expected at least %.1fx the unbatched %.0f orders/s",
+                batched, MIN_SPEEDUP, unbatched));
+    }
+
+    /**
+     * @return 每秒写入的订单数
+     */
+    private double insertOrders(int count, int jdbcBatchSize) throws InterruptedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicInteger failed = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            executor.submit(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                        entityManager.persist(newOrder());
+                    });
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES), "order inserts did not finish in time");
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        assertEquals(0, failed.get());
+        return count / (elapsed / 1_000_000_000.0);
+    }
+
+    private Order newOrder() {
+        Order order = new Order();
+        order.setOrderNumber("LT" + UUID.randomUUID().toString().replace("-", "").substring(0, 24));
+        order.setUserId(1L);
+        order.setUserName("loadtest");
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.UNPAID);
+
+        OrderAddress address = new OrderAddress();
+        address.setOrder(order);
+        address.setReceiverName("压测");
+        address.setReceiverPhone("13800000000");
+        address.setProvince("上海");
+        address.setCity("上海");
+        address.setDistrict("浦东");
+        address.setAddress("压测路 1 号");
+        order.setAddress(address);
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProductId((long) i + 1);
+            item.setSkuId((long) i + 1);
+            item.setProductName("压测商品" + i);
+            item.setPrice(BigDecimal.TEN);
+            item.setOriginalPrice(BigDecimal.TEN);
+            item.setQuantity(1);
+            item.setTotalAmount(BigDecimal.TEN);
+            order.getItems().add(item);
+            total = total.add(item.getTotalAmount());
+        }
+        order.setTotalAmount(total);
+        order.setPayableAmount(total);
+        return order;
+    }
+}
@@ -0,0 +1,122 @@
+package com.admin.modules.order.repository;
+
+import com.admin.modules.order.entity.Order;
+import com.admin.modules.order.entity.OrderItem;
+import com.admin.modules.order.entity.OrderListView;
+import com.admin.modules.order.enums.OrderStatus;
+import com.admin.modules.order.enums.PaymentStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(OrderListViewWriter.class)
+class OrderListViewWriterTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderListViewRepository orderListViewRepository;
+
+    @Autowired
+    private OrderListViewWriter orderListViewWriter;
+
+    @Test
+    void refresh_DenormalizesOrderAndFollowsStatusChanges() {
+        Order order = orderRepository.save(newOrder("ORD0001", "手机", "手机壳"));
+        orderListViewWriter.refresh(order.getId());
+
+        OrderListView view = singleActiveRow();
+        assertEquals("ORD0001", view.getOrderNumber());
+        assertEquals(2, view.getItemCount());
+        assertEquals("手机", view.getFirstProductName());
+        assertEquals(OrderStatus.PENDING, view.getStatus());
+
+        order.setStatus(OrderStatus.PAID);
+        order.setPaymentStatus(PaymentStatus.PAID);
+        orderListViewWriter.refresh(order.getId());
+        entityManager.clear();
+
+        view = singleActiveRow();
+        assertEquals(OrderStatus.PAID, view.getStatus());
+        assertEquals(PaymentStatus.PAID, view.getPaymentStatus());
+    }
+
+    @Test
+    void refresh_HidesSoftDeletedOrders() {
+        Order order = orderRepository.save(newOrder("ORD0002", "耳机"));
+        orderListViewWriter.refresh(order.getId());
+
+        order = orderRepository.findById(order.getId()).orElseThrow();
+        order.setIsDeleted(true);
+        orderListViewWriter.refresh(order.getId());
+        entityManager.clear();
+
+        assertEquals(0, orderListViewRepository.findActivePage(PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private OrderListView singleActiveRow() {
+        List<OrderListView> rows = orderListViewRepository.findActiveFirstPage(PageRequest.of(0, 10));
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+
+    private static Order newOrder(String orderNumber, String... productNames) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setUserId(1L);
+        order.setUserName("tester");
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.UNPAID);
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < productNames.length; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProductId((long) i + 1);
+            item.setSkuId((long) i + 1);
+            item.setProductName(productNames[i]);
+            item.setPrice(BigDecimal.TEN);
+            item.setOriginalPrice(BigDecimal.TEN);
+            item.setQuantity(1);
+            item.setTotalAmount(BigDecimal.TEN);
+            order.getItems().add(item);
+            total = total.add(item.getTotalAmount());
+        }
+        order.setTotalAmount(total);
+        order.setPayableAmount(total);
+        return order;
+    }
+}
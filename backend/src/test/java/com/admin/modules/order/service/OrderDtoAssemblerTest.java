@@ -0,0 +1,156 @@
+package com.admin.modules.order.service;
+
+import com.admin.modules.order.dto.OrderDto;
+import com.admin.modules.order.entity.Order;
+import com.admin.modules.order.entity.OrderAddress;
+import com.admin.modules.order.entity.OrderItem;
+import com.admin.modules.order.enums.OrderStatus;
+import com.admin.modules.order.enums.PaymentStatus;
+import com.admin.modules.order.mapper.OrderMapper;
+import com.admin.modules.order.mapper.OrderMapperImpl;
+import com.admin.modules.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在真实数据库上用 Hibernate Statistics 统计列表与详情两种取数方式执行的语句数
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({OrderDtoAssembler.class, OrderMapperImpl.class})
+class OrderDtoAssemblerTest {
+
+    private static final int ORDER_COUNT = 20;
+    private static final long USER_ID = 1L;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private OrderDtoAssembler orderDtoAssembler;
+
+    private Statistics statistics;
+    private Long firstOrderId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= ORDER_COUNT; i++) {
+            Order order = orderRepository.save(newOrder("ORD" + i));
+            if (firstOrderId == null) {
+                firstOrderId = order.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listFetchPlan_UsesConstantStatementCount() {
+        // 当前页（连带地址、支付）、总数、订单项各一条语句，与每页订单数无关
+        assertEquals(3, statementsToAssemblePage(5));
+        entityManager.clear();
+        assertEquals(3, statementsToAssemblePage(10));
+    }
+
+    @Test
+    void detailFetchPlan_LoadsOrderInOneStatement() {
+        statistics.clear();
+
+        OrderDto dto = orderMapper.toDto(orderRepository.findDetailById(firstOrderId).orElseThrow());
+
+        assertEquals(2, dto.getItems().size());
+        assertEquals("收货人", dto.getAddress().getReceiverName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private long statementsToAssemblePage(int pageSize) {
+        statistics.clear();
+
+        Page<OrderDto> page = orderDtoAssembler.toDtoPage(
+                orderRepository.findUserOrderPage(USER_ID, PageRequest.of(0, pageSize)));
+
+        assertEquals(pageSize, page.getContent().size());
+        assertEquals(ORDER_COUNT, page.getTotalElements());
+        page.getContent().forEach(dto -> {
+            assertEquals(2, dto.getItems().size());
+            assertNotNull(dto.getAddress());
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static Order newOrder(String orderNumber) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setUserId(USER_ID);
+        order.setUserName("tester");
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.UNPAID);
+
+        for (int i = 1; i <= 2; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProductId((long) i);
+            item.setSkuId((long) i);
+            item.setProductName("商品" + i);
+            item.setPrice(BigDecimal.TEN);
+            item.setOriginalPrice(BigDecimal.TEN);
+            item.setQuantity(1);
+            item.setTotalAmount(BigDecimal.TEN);
+            order.getItems().add(item);
+        }
+
+        OrderAddress address = new OrderAddress();
+        address.setOrder(order);
+        address.setReceiverName("收货人");
+        address.setReceiverPhone("13800000000");
+        address.setProvince("浙江");
+        address.setCity("杭州");
+        address.setDistrict("西湖");
+        address.setAddress("文三路");
+        order.setAddress(address);
+
+        order.setTotalAmount(new BigDecimal("20"));
+        order.setPayableAmount(new BigDecimal("20"));
+        return order;
+    }
+}
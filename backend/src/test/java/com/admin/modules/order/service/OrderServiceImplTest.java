@@ -0,0 +1,153 @@
+package com.admin.modules.order.service;
+
+import com.admin.common.id.IdGenerator;
+import com.admin.modules.order.dto.OrderAddressCreateRequest;
+import com.admin.modules.order.dto.OrderCreateRequest;
+import com.admin.modules.order.dto.OrderDto;
+import com.admin.modules.order.dto.OrderItemCreateRequest;
+import com.admin.modules.order.entity.Order;
+import com.admin.modules.order.entity.OrderItem;
+import com.admin.modules.order.enums.OrderStatus;
+import com.admin.modules.order.mapper.OrderMapper;
+import com.admin.modules.order.repository.OrderRepository;
+import com.admin.modules.order.repository.OrderListViewWriter;
+import com.admin.modules.product.enums.ProductStatus;
+import com.admin.modules.product.inventory.HotSkuStockStore.ConfirmOutcome;
+import com.admin.modules.product.inventory.InventoryReservationService;
+import com.admin.modules.product.projection.SkuOrderLine;
+import com.admin.modules.product.repository.SkuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderListViewWriter orderListViewWriter;
+
+    @Mock
+    private SkuRepository skuRepository;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private InventoryReservationService inventoryReservationService;
+
+    @Mock
+    private IdGenerator idGenerator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private Order pendingOrder;
+
+    @BeforeEach
+    void setUp() {
+        pendingOrder = new Order();
+        pendingOrder.setId(1L);
+        pendingOrder.setOrderNumber("ORD1");
+        pendingOrder.setStatus(OrderStatus.PENDING);
+        pendingOrder.getItems().add(item(10L, 2));
+        pendingOrder.getItems().add(item(20L, 1));
+        pendingOrder.getItems().add(item(10L, 3));
+    }
+
+    @Test
+    void pay_ShouldConfirmReservation() {
+        givenPendingOrder();
+        when(inventoryReservationService.confirm("ORD1")).thenReturn(ConfirmOutcome.CONFIRMED);
+
+        orderService.updateOrderStatus(1L, OrderStatus.PAID, null);
+
+        assertEquals(OrderStatus.PAID, pendingOrder.getStatus());
+        assertNotNull(pendingOrder.getPaidAt());
+        verify(inventoryReservationService, never()).deduct(any(), any());
+    }
+
+    @Test
+    void pay_ShouldReject_WhenReservationReleased() {
+        when(orderRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(pendingOrder));
+        when(inventoryReservationService.confirm("ORD1")).thenReturn(ConfirmOutcome.RELEASED);
+
+        assertThrows(IllegalStateException.class,
+                () -> orderService.updateOrderStatus(1L, OrderStatus.PAID, null));
+        verify(inventoryReservationService, never()).deduct(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void pay_ShouldDeductStock_WhenOrderHasNoReservation() {
+        givenPendingOrder();
+        when(inventoryReservationService.confirm("ORD1")).thenReturn(ConfirmOutcome.NOT_FOUND);
+
+        orderService.updateOrderStatus(1L, OrderStatus.PAID, null);
+
+        verify(inventoryReservationService).deduct("ORD1", Map.of(10L, 5, 20L, 1));
+        assertEquals(OrderStatus.PAID, pendingOrder.getStatus());
+    }
+
+    @Test
+    void pay_ShouldNotDeductAgain_WhenOrderWasPaidBefore() {
+        pendingOrder.setPaidAt(LocalDateTime.now().minusDays(1));
+        givenPendingOrder();
+        when(inventoryReservationService.confirm("ORD1")).thenReturn(ConfirmOutcome.NOT_FOUND);
+
+        orderService.updateOrderStatus(1L, OrderStatus.PAID, null);
+
+        verify(inventoryReservationService, never()).deduct(any(), any());
+    }
+
+    @Test
+    void createOrder_ShouldReject_WhenSkuNotActive() {
+        when(idGenerator.nextNumber("ORD")).thenReturn("ORD2");
+        when(skuRepository.findOrderLinesByIdIn(any())).thenReturn(List.of(new SkuOrderLine(
+                10L, 100L, "商品", "规格", new BigDecimal("9.90"), null, ProductStatus.INACTIVE, null)));
+
+        OrderItemCreateRequest itemRequest = new OrderItemCreateRequest();
+        itemRequest.setProductId(100L);
+        itemRequest.setSkuId(10L);
+        itemRequest.setQuantity(1);
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setItems(List.of(itemRequest));
+        request.setAddress(new OrderAddressCreateRequest());
+
+        assertThrows(IllegalStateException.class, () -> orderService.createOrder(request, 1L));
+        verify(inventoryReservationService, never()).reserve(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    private void givenPendingOrder() {
+        when(orderRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(pendingOrder));
+        when(orderRepository.save(pendingOrder)).thenReturn(pendingOrder);
+        when(orderMapper.toDto(pendingOrder)).thenReturn(new OrderDto());
+    }
+
+    private static OrderItem item(Long skuId, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setSkuId(skuId);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
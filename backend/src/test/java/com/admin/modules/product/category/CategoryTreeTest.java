@@ -0,0 +1,51 @@
+package com.admin.modules.product.category;
+
+import com.admin.modules.product.entity.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryTreeTest {
+
+    @Test
+    void buildsTreeFromFlatListOrderedBySortOrder() {
+        Category root = category(1L, null, 0);
+        Category phones = category(2L, root, 2);
+        Category laptops = category(3L, root, 1);
+        Category cases = category(4L, phones, 0);
+
+        CategoryTree tree = CategoryTree.of(List.of(root, phones, laptops, cases));
+
+        assertEquals(List.of(1L), tree.roots().stream().map(CategoryTree.Node::id).toList());
+        assertEquals(List.of(3L, 2L), tree.children(1L).stream().map(CategoryTree.Node::id).toList());
+        assertEquals("/1/2/4/", tree.find(4L).orElseThrow().path());
+        assertEquals(2L, tree.find(4L).orElseThrow().parentId());
+    }
+
+    @Test
+    void subtreeIdsIncludeSelfAndAllDescendants() {
+        Category root = category(1L, null, 0);
+        Category phones = category(2L, root, 0);
+        Category cases = category(3L, phones, 0);
+        Category other = category(4L, null, 1);
+
+        CategoryTree tree = CategoryTree.of(List.of(root, phones, cases, other));
+
+        assertEquals(List.of(1L, 2L, 3L), tree.subtreeIds(1L).stream().sorted().toList());
+        assertEquals(List.of(3L), tree.subtreeIds(3L));
+        assertTrue(tree.subtreeIds(99L).isEmpty());
+    }
+
+    private static Category category(Long id, Category parent, int sortOrder) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName("分类" + id);
+        category.setParent(parent);
+        category.setSortOrder(sortOrder);
+        category.setPath((parent != null ? parent.getPath() : "/") + id + "/");
+        category.setLevel(parent != null ? parent.getLevel() + 1 : 1);
+        return category;
+    }
+}
@@ -0,0 +1,137 @@
+package com.admin.modules.product.inventory;
+
+import com.admin.modules.product.inventory.HotSkuStockStore.ConfirmOutcome;
+import com.admin.modules.product.inventory.HotSkuStockStore.ReleaseOutcome;
+import com.admin.modules.product.inventory.HotSkuStockStore.ReserveOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在真实 Redis 上执行库存 Lua 脚本
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HotSkuStockStoreTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private HotSkuStockStore stockStore;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        stockStore = new HotSkuStockStore(redisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void seed_ShouldLoadDatabaseStockPlusPendingDelta_AndKeepExistingValue() {
+        redisTemplate.opsForHash().put("inventory:pending-delta", "1", "-3");
+
+        assertEquals(7, stockStore.seed(1L, 10));
+        assertEquals(7, stockStore.seed(1L, 50));
+        assertEquals(Set.of(1L), stockStore.hotSkuIds());
+    }
+
+    @Test
+    void reserve_ShouldDeductHotStock_AndRecordPendingDelta() {
+        stockStore.seed(1L, 10);
+
+        ReserveOutcome outcome = stockStore.reserve("R1", Map.of(1L, 4), future());
+
+        assertEquals(ReserveOutcome.Status.RESERVED, outcome.status());
+        assertEquals("6", redisTemplate.opsForValue().get("inventory:stock:1"));
+        assertEquals(Map.of(1L, -4), stockStore.pendingDeltas());
+        assertEquals(ReserveOutcome.Status.DUPLICATE,
+                stockStore.reserve("R1", Map.of(1L, 1), future()).status());
+    }
+
+    @Test
+    void reserve_ShouldRejectWithoutChanges_WhenInsufficientOrNotLoaded() {
+        stockStore.seed(1L, 3);
+
+        ReserveOutcome insufficient = stockStore.reserve("R1", Map.of(1L, 4), future());
+        ReserveOutcome notLoaded = stockStore.reserve("R2", Map.of(9L, 1), future());
+
+        assertEquals(new ReserveOutcome(ReserveOutcome.Status.INSUFFICIENT, 1L), insufficient);
+        assertEquals(new ReserveOutcome(ReserveOutcome.Status.NOT_LOADED, 9L), notLoaded);
+        assertEquals("3", redisTemplate.opsForValue().get("inventory:stock:1"));
+        assertTrue(stockStore.pendingDeltas().isEmpty());
+    }
+
+    @Test
+    void confirm_ShouldKeepStockDeducted() {
+        stockStore.seed(1L, 10);
+        stockStore.reserve("R1", Map.of(1L, 4), future());
+
+        assertEquals(ConfirmOutcome.CONFIRMED, stockStore.confirm("R1"));
+        assertEquals("6", redisTemplate.opsForValue().get("inventory:stock:1"));
+        assertEquals(ReleaseOutcome.NOT_FOUND, stockStore.release("R1"));
+        assertEquals("6", redisTemplate.opsForValue().get("inventory:stock:1"));
+    }
+
+    @Test
+    void confirm_ShouldDistinguishReleasedFromNeverReserved() {
+        stockStore.seed(1L, 10);
+        stockStore.reserve("R1", Map.of(1L, 1), future());
+        stockStore.release("R1");
+
+        assertEquals(ConfirmOutcome.RELEASED, stockStore.confirm("R1"));
+        assertEquals(ConfirmOutcome.NOT_FOUND, stockStore.confirm("R2"));
+    }
+
+    @Test
+    void release_ShouldReturnHotStockOnce() {
+        stockStore.seed(1L, 10);
+        stockStore.seed(3L, 5);
+        stockStore.reserve("R1", Map.of(1L, 4, 3L, 2), future());
+
+        assertEquals(ReleaseOutcome.RELEASED, stockStore.release("R1"));
+        assertEquals("10", redisTemplate.opsForValue().get("inventory:stock:1"));
+        assertEquals("5", redisTemplate.opsForValue().get("inventory:stock:3"));
+        assertTrue(stockStore.pendingDeltas().isEmpty());
+        assertEquals(ReleaseOutcome.ALREADY_RELEASED, stockStore.release("R1"));
+        assertEquals(ReleaseOutcome.NOT_FOUND, stockStore.release("R2"));
+    }
+
+    @Test
+    void release_ShouldOnlyRecordDelta_WhenSkuLeftHotStock() {
+        stockStore.seed(1L, 10);
+        stockStore.reserve("R1", Map.of(1L, 4), future());
+        redisTemplate.delete("inventory:stock:1");
+
+        stockStore.release("R1");
+
+        assertNull(redisTemplate.opsForValue().get("inventory:stock:1"));
+        assertTrue(stockStore.pendingDeltas().isEmpty());
+    }
+
+    private static long future() {
+        return System.currentTimeMillis() + 60_000;
+    }
+}
@@ -0,0 +1,106 @@
+package com.admin.modules.product.inventory;
+
+import com.admin.modules.product.enums.ReservationStatus;
+import com.admin.modules.product.inventory.HotSkuStockStore.ConfirmOutcome;
+import com.admin.modules.product.inventory.HotSkuStockStore.ReleaseOutcome;
+import com.admin.modules.product.projection.ReservationItem;
+import com.admin.modules.product.repository.InventoryReservationRepository;
+import com.admin.modules.product.service.StockMutationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReservationServiceTest {
+
+    @Spy
+    private HotSkuProperties properties = new HotSkuProperties();
+
+    @Mock
+    private HotSkuStockStore stockStore;
+
+    @Mock
+    private HotSkuDetector hotSkuDetector;
+
+    @Mock
+    private HotStockMaintenance hotStockMaintenance;
+
+    @Mock
+    private StockMutationService stockMutationService;
+
+    @Mock
+    private InventoryReservationRepository reservationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private InventoryReservationService reservationService;
+
+    @Test
+    void reserve_ShouldNotTouchRedis_WhenCartHasNoHotSku() {
+        when(reservationRepository.insert(eq("R1"), any())).thenReturn(true);
+
+        reservationService.reserve("R1", Map.of(1L, 2));
+
+        verify(stockMutationService).decreaseAll(Map.of(1L, 2));
+        verify(reservationRepository).insertItems("R1", Map.of(), Map.of(1L, 2));
+        verifyNoInteractions(stockStore);
+    }
+
+    @Test
+    void reserve_ShouldReject_WhenReservationExists() {
+        when(reservationRepository.insert(eq("R1"), any())).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> reservationService.reserve("R1", Map.of(1L, 2)));
+        verifyNoInteractions(stockStore, stockMutationService);
+    }
+
+    @Test
+    void confirm_ShouldFollowDatabaseRecord() {
+        when(reservationRepository.complete(anyString(), eq(ReservationStatus.CONFIRMED))).thenReturn(false);
+        when(reservationRepository.findStatus("R1")).thenReturn(Optional.of(ReservationStatus.RELEASED));
+        when(reservationRepository.findStatus("R2")).thenReturn(Optional.of(ReservationStatus.CONFIRMED));
+        when(reservationRepository.findStatus("R3")).thenReturn(Optional.empty());
+
+        assertEquals(ConfirmOutcome.RELEASED, reservationService.confirm("R1"));
+        assertEquals(ConfirmOutcome.CONFIRMED, reservationService.confirm("R2"));
+        assertEquals(ConfirmOutcome.NOT_FOUND, reservationService.confirm("R3"));
+        verifyNoInteractions(stockStore);
+    }
+
+    @Test
+    void release_ShouldReturnStockFromDatabaseRecord_WhenRedisLostReservation() {
+        when(reservationRepository.complete("R1", ReservationStatus.RELEASED)).thenReturn(true);
+        when(reservationRepository.findItems("R1")).thenReturn(List.of(
+                new ReservationItem(1L, 3, true), new ReservationItem(2L, 1, false)));
+        when(stockStore.release("R1")).thenReturn(ReleaseOutcome.NOT_FOUND);
+        when(stockStore.adjust(1L, 3, false)).thenReturn(10L);
+
+        assertTrue(reservationService.release("R1"));
+
+        verify(stockStore).adjust(1L, 3, false);
+        verify(stockMutationService).increaseAll(Map.of(2L, 1));
+    }
+
+    @Test
+    void release_ShouldDoNothing_WhenReservationNoLongerPending() {
+        when(reservationRepository.complete("R1", ReservationStatus.RELEASED)).thenReturn(false);
+
+        reservationService.expire("R1");
+
+        verifyNoInteractions(stockStore, stockMutationService, eventPublisher);
+    }
+}
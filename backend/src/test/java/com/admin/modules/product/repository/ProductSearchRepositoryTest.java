@@ -0,0 +1,107 @@
+package com.admin.modules.product.repository;
+
+import com.admin.modules.product.dto.ProductSearchCriteria;
+import com.admin.modules.product.entity.Category;
+import com.admin.modules.product.entity.Product;
+import com.admin.modules.product.enums.ProductStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(ProductSearchRepository.class)
+class ProductSearchRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchRepository productSearchRepository;
+
+    @Test
+    void save_ShouldMaintainMaterializedPath() {
+        Category root = categoryRepository.save(category("root", null));
+        Category child = categoryRepository.save(category("child", root));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("/" + root.getId() + "/", categoryRepository.findById(root.getId()).orElseThrow().getPath());
+        Category reloaded = categoryRepository.findById(child.getId()).orElseThrow();
+        assertEquals("/" + root.getId() + "/" + child.getId() + "/", reloaded.getPath());
+        assertEquals(2, reloaded.getLevel());
+    }
+
+    @Test
+    void searchIds_ShouldIncludeDescendants_WhenRequested() {
+        Category root = categoryRepository.save(category("root", null));
+        Category child = categoryRepository.save(category("child", root));
+        Category grandchild = categoryRepository.save(category("grandchild", child));
+        Category other = categoryRepository.save(category("other", null));
+        Product inRoot = productRepository.save(product("p1", root));
+        Product inGrandchild = productRepository.save(product("p2", grandchild));
+        productRepository.save(product("p3", other));
+        entityManager.flush();
+
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setCategoryId(root.getId());
+        assertEquals(List.of(inRoot.getId()), productSearchRepository.searchIds(criteria, 0, 10));
+
+        criteria.setIncludeDescendants(true);
+        assertEquals(Set.of(inRoot.getId(), inGrandchild.getId()),
+                Set.copyOf(productSearchRepository.searchIds(criteria, 0, 10)));
+        assertEquals(2, productSearchRepository.count(criteria));
+
+        criteria.setCategoryId(-1L);
+        assertTrue(productSearchRepository.searchIds(criteria, 0, 10).isEmpty());
+    }
+
+    private static Category category(String code, Category parent) {
+        Category category = new Category();
+        category.setName(code);
+        category.setCode(code);
+        category.setParent(parent);
+        return category;
+    }
+
+    private static Product product(String code, Category category) {
+        Product product = new Product();
+        product.setName(code);
+        product.setCode(code);
+        product.setCategory(category);
+        product.setStatus(ProductStatus.ACTIVE);
+        return product;
+    }
+}
@@ -0,0 +1,72 @@
+package com.admin.modules.product.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex();
+        index.replaceAll(List.of(
+                new SuggestEntry(1L, "苹果手机 iPhone 15", "P-1001", "Apple", List.of("6901234567890")),
+                new SuggestEntry(2L, "华为手机 Mate 60", "P-1002", "Huawei", List.of()),
+                new SuggestEntry(3L, "手机壳", "ACC-2001", null, List.of("6909999999999"))));
+    }
+
+    @Test
+    void prefixMatchOnNameRanksFirst() {
+        List<ProductSuggestIndex.Suggestion> suggestions = index.suggest("手机", 10);
+
+        // 同为包含匹配时名称较短的在前
+        assertEquals(List.of(3L, 2L, 1L), ids(suggestions));
+    }
+
+    @Test
+    void matchesCodeAndBarcodeCaseInsensitively() {
+        assertEquals(List.of(2L), ids(index.suggest("p-1002", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("690123", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("IPHONE", 10)));
+    }
+
+    @Test
+    void singleCharacterQueryReturnsNothing() {
+        assertTrue(index.suggest("华", 10).isEmpty());
+        assertEquals(List.of(2L), ids(index.suggest("华为", 10)));
+    }
+
+    @Test
+    void fuzzyMatchToleratesTypo() {
+        // "iphome" 与 "iphone" 仅一个字符不同
+        List<Long> ids = ids(index.suggest("iphome 15", 10));
+
+        assertEquals(List.of(1L), ids);
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsEntry() {
+        index.put(new SuggestEntry(2L, "华为平板 MatePad", "P-1002", "Huawei", List.of()));
+        assertTrue(index.suggest("mate 60", 10).isEmpty());
+        assertEquals(List.of(2L), ids(index.suggest("平板", 10)));
+
+        index.remove(2L);
+        assertTrue(index.suggest("华为", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void respectsLimitAndBlankQuery() {
+        assertEquals(1, index.suggest("手机", 1).size());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<ProductSuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(suggestion -> suggestion.entry().productId()).toList();
+    }
+}
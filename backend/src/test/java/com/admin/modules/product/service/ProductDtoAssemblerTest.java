@@ -0,0 +1,141 @@
+package com.admin.modules.product.service;
+
+import com.admin.modules.product.dto.ProductDto;
+import com.admin.modules.product.entity.Category;
+import com.admin.modules.product.entity.Product;
+import com.admin.modules.product.entity.ProductAttribute;
+import com.admin.modules.product.entity.ProductImage;
+import com.admin.modules.product.entity.Sku;
+import com.admin.modules.product.enums.ProductStatus;
+import com.admin.modules.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在真实数据库上用 Hibernate Statistics 统计组装一页商品DTO执行的语句数
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(ProductDtoAssembler.class)
+class ProductDtoAssemblerTest {
+
+    private static final int PRODUCT_COUNT = 50;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductDtoAssembler productDtoAssembler;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("电子产品");
+        category.setCode("electronics");
+        entityManager.persist(category);
+
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setName("商品" + i);
+            product.setCode("P" + i);
+            product.setStatus(ProductStatus.ACTIVE);
+            product.setCategory(category);
+            entityManager.persist(product);
+
+            for (int j = 0; j < 2; j++) {
+                Sku sku = new Sku();
+                sku.setSkuCode("P" + i + "-" + j);
+                sku.setName("规格" + j);
+                sku.setPrice(new BigDecimal("9.90"));
+                sku.setStock(10);
+                sku.setProduct(product);
+                entityManager.persist(sku);
+            }
+
+            ProductImage image = new ProductImage();
+            image.setUrl("/images/" + i + ".png");
+            image.setProduct(product);
+            entityManager.persist(image);
+
+            ProductAttribute attribute = new ProductAttribute();
+            attribute.setName("颜色");
+            attribute.setValue("黑色");
+            attribute.setProduct(product);
+            entityManager.persist(attribute);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void toDtoPage_UsesConstantStatementCount() {
+        // 无论一页多少商品，SKU、图片、属性、分类各一条语句
+        assertEquals(4, statementsToAssemble(5));
+        entityManager.clear();
+        assertEquals(4, statementsToAssemble(PRODUCT_COUNT));
+    }
+
+    @Test
+    void toDtoPage_GroupsChildrenByProduct() {
+        Page<Product> page = productRepository.findAll(PageRequest.of(0, PRODUCT_COUNT, Sort.by("code")));
+
+        ProductDto first = productDtoAssembler.toDtoPage(page).getContent().get(0);
+
+        assertEquals("P1", first.getCode());
+        assertEquals("电子产品", first.getCategoryName());
+        assertEquals(2, first.getSkus().size());
+        assertEquals(1, first.getImages().size());
+        assertEquals(1, first.getAttributes().size());
+    }
+
+    private long statementsToAssemble(int pageSize) {
+        Page<Product> page = productRepository.findAll(PageRequest.of(0, pageSize));
+        statistics.clear();
+
+        Page<ProductDto> result = productDtoAssembler.toDtoPage(page);
+
+        assertEquals(pageSize, result.getContent().size());
+        result.getContent().forEach(dto -> assertEquals(2, dto.getSkus().size()));
+        return statistics.getPrepareStatementCount();
+    }
+}
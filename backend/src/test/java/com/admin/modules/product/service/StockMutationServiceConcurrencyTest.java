@@ -0,0 +1,179 @@
+package com.admin.modules.product.service;
+
+import com.admin.modules.product.entity.Category;
+import com.admin.modules.product.entity.Product;
+import com.admin.modules.product.entity.Sku;
+import com.admin.modules.product.enums.ProductStatus;
+import com.admin.modules.product.repository.CategoryRepository;
+import com.admin.modules.product.repository.ProductRepository;
+import com.admin.modules.product.repository.SkuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 真实 PostgreSQL 上的并发扣减压测：1000 个并发扣减不能超卖
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(StockMutationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockMutationServiceConcurrencyTest {
+
+    private static final int PARALLEL_DECREMENTS = 1000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private StockMutationService stockMutationService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("压测分类");
+        category.setCode("stress-" + UUID.randomUUID());
+        category = categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("压测商品");
+        product.setCode("stress-" + UUID.randomUUID());
+        product.setCategory(category);
+        product.setStatus(ProductStatus.ACTIVE);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    void decrease_ShouldNotOversell_UnderParallelLoad() throws Exception {
+        Sku sku = createSku(100);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        runInParallel(() -> {
+            try {
+                stockMutationService.decrease(sku.getId(), 1);
+                succeeded.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+            }
+        });
+
+        assertEquals(100, succeeded.get());
+        assertEquals(PARALLEL_DECREMENTS - 100, rejected.get());
+        assertEquals(0, failed.get());
+        assertEquals(0, skuRepository.findById(sku.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void decreaseAll_ShouldNotOversellOrDeadlock_WhenOrdersCrossSkus() throws Exception {
+        Sku first = createSku(300);
+        Sku second = createSku(300);
+
+        AtomicInteger counter = new AtomicInteger();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        runInParallel(() -> {
+            // 交替使用两种 SKU 顺序，模拟购物车内容相同但顺序不同的订单
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            if (counter.incrementAndGet() % 2 == 0) {
+                quantities.put(first.getId(), 1);
+                quantities.put(second.getId(), 1);
+            } else {
+                quantities.put(second.getId(), 1);
+                quantities.put(first.getId(), 1);
+            }
+            try {
+                stockMutationService.decreaseAll(quantities);
+                succeeded.incrementAndGet();
+            } catch (IllegalStateException e) {
+                // 库存不足，整体回滚
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+            }
+        });
+
+        assertEquals(300, succeeded.get());
+        assertEquals(0, failed.get());
+        assertEquals(0, skuRepository.findById(first.getId()).orElseThrow().getStock());
+        assertEquals(0, skuRepository.findById(second.getId()).orElseThrow().getStock());
+    }
+
+    private Sku createSku(int stock) {
+        Sku sku = new Sku();
+        sku.setProduct(product);
+        sku.setSkuCode("stress-" + UUID.randomUUID().toString().substring(0, 8));
+        sku.setName("压测SKU");
+        sku.setPrice(BigDecimal.TEN);
+        sku.setStock(stock);
+        sku.setWarningStock(0);
+        sku.setStatus(ProductStatus.ACTIVE);
+        return skuRepository.save(sku);
+    }
+
+    private void runInParallel(Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PARALLEL_DECREMENTS);
+        for (int i = 0; i < PARALLEL_DECREMENTS; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(2, TimeUnit.MINUTES), "parallel decrements did not finish in time");
+        executor.shutdown();
+    }
+}